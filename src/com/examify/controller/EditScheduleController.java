@@ -180,9 +180,15 @@ public class EditScheduleController {
                         throw new Exception("No data available for regeneration. Check your files.");
                     }
 
-                    // 4. Generate schedule in memory
+                    // 4. Repair the existing placement in memory; if that is impossible, regenerate starting from it
                     com.examify.model.ExamScheduler scheduler = new com.examify.model.ExamScheduler();
-                    Schedule newGen = scheduler.generateSchedule(newName, courses, classrooms, newStartDate, newEndDate, newMinSlot, newMaxSlot);
+                    List<Course> previousCourses = db.loadAllCourses(selectedSchedule.getScheduleId());
+                    Schedule newGen;
+                    try {
+                        newGen = scheduler.repairSchedule(selectedSchedule, previousCourses, newName, courses, classrooms, newStartDate, newEndDate, newMinSlot, newMaxSlot);
+                    } catch (com.examify.model.ExamScheduler.SchedulingException repairFailed) {
+                        newGen = scheduler.generateSchedule(newName, courses, classrooms, newStartDate, newEndDate, newMinSlot, newMaxSlot, selectedSchedule);
+                    }
 
                     // IMPORTANT: Set the scheduleId for each generated exam
                     int actualId = selectedSchedule.getScheduleId();
@@ -136,11 +136,34 @@ public class DatabaseConnection {
                 exam_date DATE NOT NULL,
                 slot INTEGER NOT NULL CHECK(slot >= 0),
                 duration INTEGER DEFAULT 2,
+                student_count INTEGER DEFAULT 0,
                 FOREIGN KEY (schedule_id) REFERENCES schedules(schedule_id) ON DELETE CASCADE,
                 FOREIGN KEY (schedule_id, course_code) REFERENCES courses(schedule_id, course_code),
                 FOREIGN KEY (schedule_id, classroom_id) REFERENCES classrooms(schedule_id, classroom_id),
                 UNIQUE(schedule_id, classroom_id, exam_date, slot),
-                UNIQUE(schedule_id, course_code)
+                UNIQUE(schedule_id, course_code, classroom_id)
+            )
+            """,
+
+            """
+            CREATE TABLE IF NOT EXISTS solution_cache (
+                fingerprint TEXT PRIMARY KEY,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                last_used_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """,
+
+            """
+            CREATE TABLE IF NOT EXISTS solution_cache_exams (
+                fingerprint TEXT NOT NULL,
+                course_code TEXT NOT NULL,
+                classroom_id TEXT NOT NULL,
+                exam_date DATE NOT NULL,
+                slot INTEGER NOT NULL,
+                duration INTEGER DEFAULT 2,
+                capacity INTEGER DEFAULT 0,
+                student_count INTEGER DEFAULT 0,
+                FOREIGN KEY (fingerprint) REFERENCES solution_cache(fingerprint) ON DELETE CASCADE
             )
             """
         };
@@ -155,11 +178,14 @@ public class DatabaseConnection {
             }
         }
         
+        ExamsTableMigration.migrate(connection);
+
         String[] indexStatements = {
             "CREATE INDEX IF NOT EXISTS idx_enrollments_student ON enrollments(student_id)",
             "CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments(course_code)",
             "CREATE INDEX IF NOT EXISTS idx_exams_schedule ON exams(schedule_id)",
-            "CREATE INDEX IF NOT EXISTS idx_exams_date ON exams(exam_date)"
+            "CREATE INDEX IF NOT EXISTS idx_exams_date ON exams(exam_date)",
+            "CREATE INDEX IF NOT EXISTS idx_solution_cache_exams ON solution_cache_exams(fingerprint)"
         };
         
         for (String sql : indexStatements) {
@@ -197,8 +223,8 @@ public class DatabaseConnection {
     public void saveExams(int scheduleId, List<Exam> exams) throws SQLException {
         String deleteOldExamsSQL = "DELETE FROM exams WHERE schedule_id = ?";
         String insertExamSQL = """
-            INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration)
-            VALUES (?, ?, ?, ?, ?, ?)
+            INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration, student_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
         """;
         
         try {
@@ -217,6 +243,7 @@ public class DatabaseConnection {
                     pstmt.setDate(4, java.sql.Date.valueOf(exam.getExamDate()));
                     pstmt.setInt(5, exam.getSlot());
                     pstmt.setInt(6, exam.getDuration());
+                    pstmt.setInt(7, exam.getStudentCount());
                     pstmt.addBatch();
                 }
                 pstmt.executeBatch();
@@ -244,8 +271,8 @@ public class DatabaseConnection {
         """;
         
         String insertExamSQL = """
-            INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration)
-            VALUES (?, ?, ?, ?, ?, ?)
+            INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration, student_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
         """;
         
         try {
@@ -285,6 +312,7 @@ public class DatabaseConnection {
                     pstmt.setDate(4, java.sql.Date.valueOf(exam.getExamDate()));
                     pstmt.setInt(5, exam.getSlot());
                     pstmt.setInt(6, exam.getDuration());
+                    pstmt.setInt(7, exam.getStudentCount());
                     pstmt.addBatch();
                 }
                 pstmt.executeBatch();
@@ -312,8 +340,8 @@ public class DatabaseConnection {
         String deleteExamsSQL = "DELETE FROM exams WHERE schedule_id = ?";
         
         String insertExamSQL = """
-            INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration)
-            VALUES (?, ?, ?, ?, ?, ?)
+            INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration, student_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
         """;
         
         try {
@@ -343,6 +371,7 @@ public class DatabaseConnection {
                     pstmt.setDate(4, java.sql.Date.valueOf(exam.getExamDate()));
                     pstmt.setInt(5, exam.getSlot());
                     pstmt.setInt(6, exam.getDuration());
+                    pstmt.setInt(7, exam.getStudentCount());
                     pstmt.addBatch();
                 }
                 pstmt.executeBatch();
@@ -414,7 +443,7 @@ public class DatabaseConnection {
                     pstmt.executeUpdate();
                 }
                 
-                String insertExamSQL = "INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration) VALUES (?, ?, ?, ?, ?, ?)";
+                String insertExamSQL = "INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, duration, student_count) VALUES (?, ?, ?, ?, ?, ?, ?)";
                 try (PreparedStatement pstmt = connection.prepareStatement(insertExamSQL)) {
                     for (Exam exam : exams) {
                         pstmt.setInt(1, actualId);
@@ -423,6 +452,7 @@ public class DatabaseConnection {
                         pstmt.setDate(4, java.sql.Date.valueOf(exam.getExamDate()));
                         pstmt.setInt(5, exam.getSlot());
                         pstmt.setInt(6, exam.getDuration());
+                        pstmt.setInt(7, exam.getStudentCount());
                         pstmt.addBatch();
                     }
                     pstmt.executeBatch();
@@ -572,6 +602,7 @@ public class DatabaseConnection {
                     exam.setSlot(examRs.getInt("slot"));
                     exam.setDuration(examRs.getInt("duration"));
                     exam.setCapacity(examRs.getInt("capacity"));
+                    exam.setStudentCount(examRs.getInt("student_count"));
                     exams.add(exam);
                 }
                 schedule.setExams(exams);
@@ -668,6 +699,7 @@ public class DatabaseConnection {
                     exam.setSlot(examRs.getInt("slot"));
                     exam.setDuration(examRs.getInt("duration"));
                     exam.setCapacity(examRs.getInt("capacity"));
+                    exam.setStudentCount(examRs.getInt("student_count"));
                     
                     schedule.getExams().add(exam);
                 }
@@ -890,6 +922,7 @@ public class DatabaseConnection {
                 exam.setSlot(rs.getInt("slot"));
                 exam.setDuration(rs.getInt("duration"));
                 exam.setCapacity(rs.getInt("capacity"));
+                exam.setStudentCount(rs.getInt("student_count"));
                 exams.add(exam);
             }
             
@@ -897,6 +930,110 @@ public class DatabaseConnection {
         }
     }
     
+    // Keeps only the maxEntries most recently used solutions.
+    public void saveCachedSolution(String fingerprint, List<Exam> exams, int maxEntries) throws SQLException {
+        String upsertSQL = """
+            INSERT INTO solution_cache (fingerprint) VALUES (?)
+            ON CONFLICT(fingerprint) DO UPDATE SET last_used_at = CURRENT_TIMESTAMP
+        """;
+        String deleteExamsSQL = "DELETE FROM solution_cache_exams WHERE fingerprint = ?";
+        String insertExamSQL = """
+            INSERT INTO solution_cache_exams (fingerprint, course_code, classroom_id, exam_date, slot,
+                                              duration, capacity, student_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        String pruneSQL = """
+            DELETE FROM solution_cache WHERE fingerprint NOT IN (
+                SELECT fingerprint FROM solution_cache ORDER BY last_used_at DESC, created_at DESC LIMIT ?
+            )
+        """;
+
+        try {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement pstmt = connection.prepareStatement(upsertSQL)) {
+                pstmt.setString(1, fingerprint);
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteExamsSQL)) {
+                pstmt.setString(1, fingerprint);
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(insertExamSQL)) {
+                for (Exam exam : exams) {
+                    pstmt.setString(1, fingerprint);
+                    pstmt.setString(2, exam.getCourseCode());
+                    pstmt.setString(3, exam.getClassroomId());
+                    pstmt.setDate(4, java.sql.Date.valueOf(exam.getExamDate()));
+                    pstmt.setInt(5, exam.getSlot());
+                    pstmt.setInt(6, exam.getDuration());
+                    pstmt.setInt(7, exam.getCapacity());
+                    pstmt.setInt(8, exam.getStudentCount());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(pruneSQL)) {
+                pstmt.setInt(1, maxEntries);
+                pstmt.executeUpdate();
+            }
+
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // Returns null when no solution is stored under the fingerprint.
+    public List<Exam> loadCachedSolution(String fingerprint) throws SQLException {
+        String touchSQL = "UPDATE solution_cache SET last_used_at = CURRENT_TIMESTAMP WHERE fingerprint = ?";
+        String examsSQL = """
+            SELECT * FROM solution_cache_exams
+            WHERE fingerprint = ?
+            ORDER BY exam_date, slot
+        """;
+
+        try (PreparedStatement pstmt = connection.prepareStatement(touchSQL)) {
+            pstmt.setString(1, fingerprint);
+            if (pstmt.executeUpdate() == 0) {
+                return null;
+            }
+        }
+
+        try (PreparedStatement pstmt = connection.prepareStatement(examsSQL)) {
+            pstmt.setString(1, fingerprint);
+            ResultSet rs = pstmt.executeQuery();
+
+            List<Exam> exams = new ArrayList<>();
+            while (rs.next()) {
+                Exam exam = new Exam();
+                exam.setCourseCode(rs.getString("course_code"));
+                exam.setClassroomId(rs.getString("classroom_id"));
+
+                java.sql.Date examDate = rs.getDate("exam_date");
+                if (examDate != null) {
+                    exam.setExamDate(examDate.toLocalDate());
+                }
+
+                exam.setSlot(rs.getInt("slot"));
+                exam.setDuration(rs.getInt("duration"));
+                exam.setCapacity(rs.getInt("capacity"));
+                exam.setStudentCount(rs.getInt("student_count"));
+                exams.add(exam);
+            }
+            return exams;
+        }
+    }
+
+    public void clearSolutionCache() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DELETE FROM solution_cache");
+        }
+    }
+
     public void close() {
         try {
             if (connection != null && !connection.isClosed()) {
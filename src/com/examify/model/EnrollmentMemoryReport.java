@@ -0,0 +1,115 @@
+package com.examify.model;
+
+import com.examify.model.entities.Course;
+import com.examify.model.entities.EnrollmentSet;
+import com.examify.model.entities.StudentIndex;
+import com.examify.model.scheduling.StudentBitmap;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Estimated heap footprint of a term's enrolments in the three student-set
+ * representations: the {@code HashSet<String>} of {@link Course}, the sorted
+ * int arrays of {@link EnrollmentSet} and {@link StudentBitmap}. Sizes are
+ * computed from object layouts with compressed pointers, not measured, so
+ * they are comparable across runs and JVMs. Student id strings are counted
+ * once, separately, since every representation needs them somewhere.
+ *
+ * <pre>
+ * java -cp Examify.jar com.examify.model.EnrollmentMemoryReport [10000,60000]
+ * </pre>
+ */
+public class EnrollmentMemoryReport {
+
+    private final int courses;
+    private final long enrollments;
+    private final int students;
+    private final long hashSetBytes;
+    private final long idStringBytes;
+    private final long sortedArrayBytes;
+    private final long bitmapBytes;
+
+    private EnrollmentMemoryReport(int courses, long enrollments, int students, long hashSetBytes,
+                                   long idStringBytes, long sortedArrayBytes, long bitmapBytes) {
+        this.courses = courses;
+        this.enrollments = enrollments;
+        this.students = students;
+        this.hashSetBytes = hashSetBytes;
+        this.idStringBytes = idStringBytes;
+        this.sortedArrayBytes = sortedArrayBytes;
+        this.bitmapBytes = bitmapBytes;
+    }
+
+    public static EnrollmentMemoryReport of(List<Course> courses) {
+        long enrollments = 0;
+        long hashSet = 0;
+        long sortedArray = 0;
+        long bitmap = 0;
+        Set<String> ids = new HashSet<>();
+        StudentIndex index = new StudentIndex();
+        for (Course course : courses) {
+            Set<String> students = course.getEnrolledStudents();
+            enrollments += students.size();
+            ids.addAll(students);
+            hashSet += hashSetBytes(students.size());
+            EnrollmentSet enrollment = course.getEnrollment(index);
+            sortedArray += 16 + array(4L * enrollment.size());
+            bitmap += StudentBitmap.of(enrollment).sizeInBytes();
+        }
+        long strings = 0;
+        for (String id : ids) {
+            strings += 24 + array(id.length());
+        }
+        return new EnrollmentMemoryReport(courses.size(), enrollments, ids.size(), hashSet, strings, sortedArray,
+                bitmap);
+    }
+
+    // HashSet and its HashMap, the power-of-two bucket table at load factor 0.75, and one node per entry.
+    private static long hashSetBytes(int entries) {
+        int buckets = 16;
+        while (buckets * 0.75 < entries) {
+            buckets <<= 1;
+        }
+        return 16 + 48 + array(4L * buckets) + 32L * entries;
+    }
+
+    private static long array(long payload) {
+        return (16 + payload + 7) & ~7L;
+    }
+
+    public int getCourses() { return courses; }
+    public long getEnrollments() { return enrollments; }
+    public int getStudents() { return students; }
+    public long getHashSetBytes() { return hashSetBytes; }
+    public long getIdStringBytes() { return idStringBytes; }
+    public long getSortedArrayBytes() { return sortedArrayBytes; }
+    public long getBitmapBytes() { return bitmapBytes; }
+
+    public void print(PrintWriter out) {
+        out.printf("%d courses, %d students, %d enrolments (student id strings: %.1f MB)%n",
+                courses, students, enrollments, mb(idStringBytes));
+        out.printf("  %-14s %10s %14s%n", "representation", "MB", "bytes/enrol");
+        row(out, "HashSet<String>", hashSetBytes);
+        row(out, "sorted int[]", sortedArrayBytes);
+        row(out, "bitmap", bitmapBytes);
+        out.flush();
+    }
+
+    private void row(PrintWriter out, String name, long bytes) {
+        out.printf("  %-14s %10.2f %14.1f%n", name, mb(bytes), enrollments == 0 ? 0.0 : (double) bytes / enrollments);
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args[0].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray()
+                : SchedulerBenchmark.DEFAULT_SIZES;
+        PrintWriter out = new PrintWriter(System.out, true);
+        for (int size : sizes) {
+            of(SchedulerBenchmark.generatorFor(size, 1).generateCourses()).print(out);
+        }
+    }
+}
@@ -1,21 +1,62 @@
 package com.examify.model;
 
 import com.examify.model.entities.*;
+import com.examify.model.scheduling.AnnealingOptimizer;
+import com.examify.model.scheduling.ComponentDecomposition;
+import com.examify.model.scheduling.ConstraintState;
+import com.examify.model.scheduling.EnrollmentOverlaps;
+import com.examify.model.scheduling.ExamCalendar;
+import com.examify.model.scheduling.FeasibilityAnalyzer;
+import com.examify.model.scheduling.KempeChainRepairer;
+import com.examify.model.scheduling.ProblemModel;
+import com.examify.model.scheduling.ScheduleEvaluator;
+import com.examify.model.scheduling.ScheduleFingerprint;
+import com.examify.model.scheduling.ScheduleRepairer;
+import com.examify.model.scheduling.SchedulingStrategy;
+import com.examify.model.scheduling.ProgressThrottle;
+import com.examify.model.scheduling.SolverContext;
+import com.examify.model.scheduling.SolverOptions;
+import com.examify.model.scheduling.SolverTelemetry;
+import com.examify.model.scheduling.StrategyRegistry;
+import com.examify.model.scheduling.StudentBitmap;
+import com.examify.model.scheduling.WarmStart;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExamScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ExamScheduler.class);
 
     public static final int DEFAULT_MAX_EXAMS_PER_DAY = 2;
     public static final int DEFAULT_MIN_GAP_BETWEEN_EXAMS = 1;
     public static final int DEFAULT_EXAM_DURATION_HOURS = 2;
+    public static final long DEFAULT_OPTIMIZATION_TIME_MILLIS = 1000;
+    public static final long OPTIMIZATION_MILLIS_PER_COURSE = 2;
+    public static final long REPAIR_KEMPE_TIME_MILLIS = 200;
+    public static final int PARTS_PER_WORKER = 4;
 
     private int maxExamsPerDay;
     private int minGapBetweenExams;
     private List<Conflict> conflicts;
     private Random random;
+    private SchedulingStrategy strategy = StrategyRegistry.create(StrategyRegistry.DEFAULT_STRATEGY);
+    private int parallelAttempts = 1;
+    private boolean stopAtFirstFeasible = false;
+    private long seed = System.nanoTime();
+    private long optimizationTimeMillis = DEFAULT_OPTIMIZATION_TIME_MILLIS;
+    private boolean decomposeComponents = true;
+    private SolutionCache solutionCache = SolutionCache.shared();
+    private boolean excludeWeekends = false;
+    private Set<LocalDate> holidays = new HashSet<>();
+    private SolverTelemetry telemetry = SolverTelemetry.shared();
+    // The telemetry of the run in progress, or null when it is off.
+    private SolverTelemetry activeTelemetry;
 
     public ExamScheduler() {
         this(DEFAULT_MAX_EXAMS_PER_DAY, DEFAULT_MIN_GAP_BETWEEN_EXAMS);
@@ -28,7 +69,51 @@ public class ExamScheduler {
         this.random = new Random();
     }
 
-   
+    public SchedulingStrategy getStrategy() { return strategy; }
+    public void setStrategy(SchedulingStrategy strategy) { this.strategy = strategy; }
+
+    /**
+     * Attempts run concurrently with different seeds. Ignored when the run is solved as separate
+     * conflict components (see {@link #setDecomposeComponents}).
+     */
+    public int getParallelAttempts() { return parallelAttempts; }
+    public void setParallelAttempts(int parallelAttempts) { this.parallelAttempts = Math.max(1, parallelAttempts); }
+
+    public boolean isStopAtFirstFeasible() { return stopAtFirstFeasible; }
+    public void setStopAtFirstFeasible(boolean stopAtFirstFeasible) { this.stopAtFirstFeasible = stopAtFirstFeasible; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * Upper bound on annealing after a cold generate. A run gets
+     * {@link #OPTIMIZATION_MILLIS_PER_COURSE} per course up to this bound, so
+     * small instances are not held up for the full time; 0 turns it off.
+     */
+    public long getOptimizationTimeMillis() { return optimizationTimeMillis; }
+    public void setOptimizationTimeMillis(long optimizationTimeMillis) { this.optimizationTimeMillis = optimizationTimeMillis; }
+
+    /** Solve independent conflict components in parallel; {@link #getParallelAttempts} is ignored when they are. */
+    public boolean isDecomposeComponents() { return decomposeComponents; }
+    public void setDecomposeComponents(boolean decomposeComponents) { this.decomposeComponents = decomposeComponents; }
+
+    public SolutionCache getSolutionCache() { return solutionCache; }
+    public void setSolutionCache(SolutionCache solutionCache) { this.solutionCache = solutionCache; }
+
+    /** Where runs report counters and phase timings; reporting happens only while it is enabled. */
+    public SolverTelemetry getTelemetry() { return telemetry; }
+    public void setTelemetry(SolverTelemetry telemetry) { this.telemetry = telemetry; }
+
+    /** Whether Saturdays and Sundays are left out of the exam days. */
+    public boolean isExcludeWeekends() { return excludeWeekends; }
+    public void setExcludeWeekends(boolean excludeWeekends) { this.excludeWeekends = excludeWeekends; }
+
+    /** Dates on which no exams are held. */
+    public Set<LocalDate> getHolidays() { return Collections.unmodifiableSet(holidays); }
+    public void setHolidays(Collection<LocalDate> holidays) {
+        this.holidays = holidays == null ? new HashSet<>() : new HashSet<>(holidays);
+    }
+
     public Schedule generateSchedule(
             String scheduleName,
             List<Course> courses,
@@ -37,9 +122,207 @@ public class ExamScheduler {
             LocalDate endDate,
             int minSlot,
             int maxSlot) throws SchedulingException {
+        return generateSchedule(scheduleName, courses, classrooms, startDate, endDate, minSlot, maxSlot, strategy);
+    }
 
+    public Schedule generateSchedule(
+            String scheduleName,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            LocalDate startDate,
+            LocalDate endDate,
+            int minSlot,
+            int maxSlot,
+            SchedulingStrategy strategy) throws SchedulingException {
+        return generateSchedule(scheduleName, courses, classrooms, startDate, endDate, minSlot, maxSlot,
+                strategy, SolverOptions.none());
+    }
+
+    /**
+     * Regenerates a schedule close to {@code previousSchedule}: every course
+     * tries its previous date and slot first, then the nearest periods around
+     * it, and keeps its previous classroom where it still fits.
+     */
+    public Schedule generateSchedule(
+            String scheduleName,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            LocalDate startDate,
+            LocalDate endDate,
+            int minSlot,
+            int maxSlot,
+            Schedule previousSchedule) throws SchedulingException {
+        SolverOptions options = SolverOptions.none();
+        if (previousSchedule != null) {
+            options.setPreviousExams(previousSchedule.getExams());
+        }
+        return generateSchedule(scheduleName, courses, classrooms, startDate, endDate, minSlot, maxSlot,
+                strategy, options);
+    }
+
+    public Schedule generateSchedule(
+            String scheduleName,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            LocalDate startDate,
+            LocalDate endDate,
+            int minSlot,
+            int maxSlot,
+            SolverOptions options) throws SchedulingException {
+        return generateSchedule(scheduleName, courses, classrooms, startDate, endDate, minSlot, maxSlot,
+                strategy, options);
+    }
+
+    public Schedule generateSchedule(
+            String scheduleName,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            LocalDate startDate,
+            LocalDate endDate,
+            int minSlot,
+            int maxSlot,
+            SchedulingStrategy strategy,
+            SolverOptions options) throws SchedulingException {
+
+        activeTelemetry = telemetry != null && telemetry.isEnabled() ? telemetry : null;
+        if (activeTelemetry == null) {
+            return generate(scheduleName, courses, classrooms, startDate, endDate, minSlot, maxSlot, strategy,
+                    options);
+        }
+        SolverTelemetry run = activeTelemetry;
+        SolverTelemetry.Snapshot before = run.snapshot();
+        long start = System.nanoTime();
+        boolean generated = false;
+        try {
+            Schedule schedule = generate(scheduleName, courses, classrooms, startDate, endDate, minSlot, maxSlot,
+                    strategy, options);
+            generated = true;
+            return schedule;
+        } finally {
+            run.recordRun();
+            logger.info("Schedule '{}' {} in {} ms: {}", scheduleName, generated ? "generated" : "failed",
+                    (System.nanoTime() - start) / 1_000_000, run.snapshot().minus(before));
+        }
+    }
+
+    private Schedule generate(String scheduleName, List<Course> courses, List<Classroom> classrooms,
+                              LocalDate startDate, LocalDate endDate, int minSlot, int maxSlot,
+                              SchedulingStrategy strategy, SolverOptions options) throws SchedulingException {
         conflicts.clear();
+        ProgressThrottle progress = new ProgressThrottle(options);
+        // A warm-started run answers "close to this schedule", which a cached one need not be.
+        String fingerprint = options.isWarmStart()
+                ? null : fingerprint(courses, classrooms, startDate, endDate, minSlot, maxSlot, strategy);
+        if (fingerprint != null) {
+            List<Exam> cached = solutionCache.get(fingerprint);
+            if (cached != null) {
+                progress.reportNow(0, courses.size(), courses.size(), 0);
+                return cachedSchedule(scheduleName, cached, courses, startDate, endDate, minSlot, maxSlot);
+            }
+        }
+
+        ProblemModel model = buildModel(courses, classrooms, startDate, endDate, minSlot, maxSlot);
+        WarmStart warmStart = options.isWarmStart() ? WarmStart.of(model, options.getPreviousExams()) : null;
+
+        long attemptStart = phaseStart();
+        ConstraintState state = decomposeComponents ? runDecomposed(model, strategy, options, progress) : null;
+        if (state == null) {
+            // Attempts run concurrently only on strategies the registry can hand a fresh instance per task.
+            state = parallelAttempts > 1 && StrategyRegistry.contains(strategy.getName())
+                    ? runMultiStart(model, strategy, options, progress, warmStart)
+                    : runAttempts(model, strategy, options, progress, warmStart);
+        }
+        phaseEnd(SolverTelemetry.Phase.ATTEMPT, attemptStart);
+        progress.reportNow(0, state.placedCount(), model.courseCount(), 0);
+
+        long optimizeStart = phaseStart();
+        optimizeSchedule(state, options);
+        phaseEnd(SolverTelemetry.Phase.OPTIMIZE, optimizeStart);
+
+        Schedule schedule = buildSchedule(scheduleName, model, state, courses);
+        if (fingerprint != null && state.isComplete()) {
+            solutionCache.put(fingerprint, schedule.getExams());
+        }
+        return schedule;
+    }
+
+    // The seed is left out: any schedule the solver produced for the same inputs is an equally valid answer.
+    private String fingerprint(List<Course> courses, List<Classroom> classrooms, LocalDate startDate,
+                               LocalDate endDate, int minSlot, int maxSlot, SchedulingStrategy strategy) {
+        if (solutionCache == null || courses == null || classrooms == null || startDate == null || endDate == null) {
+            return null;
+        }
+        String settings = String.format("%s|%d|%d|%d|%d|%b|%b|%b|%s", strategy.getName(), maxExamsPerDay,
+                minGapBetweenExams, optimizationTimeMillis, parallelAttempts, stopAtFirstFeasible, decomposeComponents,
+                excludeWeekends, new TreeSet<>(holidays));
+        return ScheduleFingerprint.of(courses, classrooms, startDate, endDate, minSlot, maxSlot, settings);
+    }
+
+    private Schedule cachedSchedule(String scheduleName, List<Exam> exams, List<Course> courses,
+                                    LocalDate startDate, LocalDate endDate, int minSlot, int maxSlot) {
+        Schedule schedule = new Schedule(scheduleName, startDate, endDate, maxSlot - minSlot + 1);
+        schedule.setMinSlot(minSlot);
+        schedule.setMaxSlot(maxSlot);
+        schedule.setMaxExamsPerDay(maxExamsPerDay);
+        for (Exam exam : exams) {
+            schedule.addExam(exam);
+        }
+        long detectStart = phaseStart();
+        detectConflicts(schedule, courses);
+        phaseEnd(SolverTelemetry.Phase.CONFLICT_DETECTION, detectStart);
+        return schedule;
+    }
+
+    public Schedule repairSchedule(
+            Schedule previousSchedule,
+            List<Course> previousCourses,
+            String scheduleName,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            LocalDate startDate,
+            LocalDate endDate,
+            int minSlot,
+            int maxSlot) throws SchedulingException {
 
+        conflicts.clear();
+        activeTelemetry = telemetry != null && telemetry.isEnabled() ? telemetry : null;
+        ProblemModel model = buildModel(courses, classrooms, startDate, endDate, minSlot, maxSlot);
+
+        Map<String, Set<String>> previousEnrollments = new HashMap<>();
+        if (previousCourses != null) {
+            for (Course course : previousCourses) {
+                previousEnrollments.put(course.getCourseCode(), course.getEnrolledStudents());
+            }
+        }
+        Set<String> changedCourses = new HashSet<>();
+        for (Course course : courses) {
+            if (!course.getEnrolledStudents().equals(previousEnrollments.get(course.getCourseCode()))) {
+                changedCourses.add(course.getCourseCode());
+            }
+        }
+
+        // The repairer alone is near-instant; the Kempe pass is paid for only when it cannot re-place
+        // every displaced exam.
+        ScheduleRepairer repairer = new ScheduleRepairer();
+        ConstraintState state;
+        try {
+            state = repairer.repair(model, previousSchedule.getExams(), changedCourses);
+        } catch (SchedulingException noFreePeriod) {
+            List<Exam> resolved = resolveWithKempeChains(model, previousSchedule.getExams());
+            if (resolved == previousSchedule.getExams()) {
+                throw noFreePeriod;
+            }
+            state = repairer.repair(model, resolved, changedCourses);
+        }
+
+        return buildSchedule(scheduleName, model, state, courses);
+    }
+
+    private ProblemModel buildModel(List<Course> courses, List<Classroom> classrooms,
+                                    LocalDate startDate, LocalDate endDate, int minSlot, int maxSlot)
+            throws SchedulingException {
+
+        long validateStart = phaseStart();
         if (minSlot < 0 || maxSlot < minSlot) { 
             throw new SchedulingException("Invalid slot range provided.");
         }
@@ -47,7 +330,12 @@ public class ExamScheduler {
 
         validateInputs(courses, classrooms, startDate, endDate, slotsPerDay);
 
-        long totalDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        ExamCalendar calendar = ExamCalendar.of(startDate, endDate, excludeWeekends, holidays);
+        long totalDays = calendar.dayCount();
+        if (totalDays == 0) {
+            throw new SchedulingException("No exam days between " + startDate + " and " + endDate
+                    + " once weekends and holidays are excluded.");
+        }
         long totalAvailableSlots = totalDays * slotsPerDay * classrooms.size();
 
         if (courses.size() > totalAvailableSlots) {
@@ -58,52 +346,262 @@ public class ExamScheduler {
                             totalDays, slotsPerDay, classrooms.size())
             );
         }
+        phaseEnd(SolverTelemetry.Phase.VALIDATE, validateStart);
 
+        long preprocessStart = phaseStart();
         List<Course> sortedCourses = preprocessCourses(courses);
         List<Classroom> sortedClassrooms = preprocessClassrooms(classrooms);
-        Schedule schedule = new Schedule(scheduleName, startDate, endDate, slotsPerDay);
-        schedule.setMinSlot(minSlot);
-        schedule.setMaxSlot(maxSlot);
+        ProblemModel model = ProblemModel.of(sortedCourses, sortedClassrooms, calendar,
+                minSlot, maxSlot, maxExamsPerDay, minGapBetweenExams);
+
+        List<String> problems = new FeasibilityAnalyzer().analyze(model);
+        if (!problems.isEmpty()) {
+            throw new SchedulingException("Schedule is infeasible: " + String.join("; ", problems));
+        }
+        phaseEnd(SolverTelemetry.Phase.PREPROCESS, preprocessStart);
+        return model;
+    }
+
+    private Schedule buildSchedule(String scheduleName, ProblemModel model, ConstraintState state,
+                                   List<Course> courses) {
+        LocalDate startDate = model.calendar().getStartDate();
+        LocalDate endDate = model.calendar().getEndDate();
+        Schedule schedule = new Schedule(scheduleName, startDate, endDate, model.slotsPerDay());
+        schedule.setMinSlot(model.slotOf(0));
+        schedule.setMaxSlot(model.slotOf(model.slotsPerDay() - 1));
         schedule.setMaxExamsPerDay(maxExamsPerDay);
-        Map<String, Map<LocalDate, Set<Integer>>> studentSchedule = new HashMap<>();
-        Map<LocalDate, Map<Integer, Set<String>>> classroomOccupancy = new HashMap<>();
-        Map<String, ExamSlotAssignment> courseAssignments = new HashMap<>();
-        Map<LocalDate, Map<Integer, Set<String>>> forbiddenSlots = new HashMap<>();
-        boolean scheduleComplete = false;
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.isFixed(c)) {
+                int[] rooms = model.fixedRooms(c);
+                int[] seats = model.fixedSeats(c);
+                for (int i = 0; i < rooms.length; i++) {
+                    schedule.addExam(createExam(model, c, model.fixedPeriod(c), rooms[i], seats[i]));
+                }
+            } else if (state.isPlaced(c)) {
+                schedule.addExam(createExam(model, c, state.periodOf(c), state.roomOf(c), model.courseSize(c)));
+            }
+        }
+        schedule.getExams().sort(Comparator
+                .comparing(Exam::getExamDate)
+                .thenComparing(Exam::getSlot));
+
+        long detectStart = phaseStart();
+        detectConflicts(schedule, new EnrollmentOverlaps(courses, model.studentIndex()));
+        phaseEnd(SolverTelemetry.Phase.CONFLICT_DETECTION, detectStart);
+
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (!state.isPlaced(c)) {
+                conflicts.add(new Conflict(
+                        Conflict.Type.UNPLACED_COURSE,
+                        String.format("Course %s (students: %d) was not placed before the solver stopped",
+                                model.course(c).getCourseCode(), model.courseSize(c)),
+                        null, null, Collections.emptyList()
+                ));
+            }
+        }
+
+        return schedule;
+    }
+
+    private ConstraintState runAttempts(ProblemModel model, SchedulingStrategy strategy, SolverOptions options,
+                                        ProgressThrottle progress, WarmStart warmStart)
+            throws SchedulingException {
         int maxAttempts = 3;
-        int attempt = 0;
+        SchedulingException lastError = null;
 
-        while (!scheduleComplete && attempt < maxAttempts) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            if (attempt > 0 && options.isStopRequested()) {
+                break;
+            }
             try {
-                scheduleComplete = attemptSchedule(
-                        schedule, sortedCourses, sortedClassrooms,
-                        studentSchedule, classroomOccupancy, courseAssignments, forbiddenSlots,
-                        minSlot, maxSlot,
-                        attempt
-                );
+                // An incomplete state means the deadline or the cancel token stopped the run.
+                return solveAttempt(strategy, model, new SolverContext(attempt, random, null, options, progress,
+                        warmStart, activeTelemetry));
             } catch (SchedulingException e) {
-                attempt++;
-                if (attempt >= maxAttempts) {
-                    throw new SchedulingException(
-                            String.format("Failed to generate schedule after %d attempts. Last error: %s",
-                                    maxAttempts, e.getMessage()), e);
-                }
-                schedule.getExams().clear();
-                studentSchedule.clear();
-                classroomOccupancy.clear();
-                courseAssignments.clear();
-                forbiddenSlots.clear();
+                lastError = e;
             }
         }
 
-        if (!scheduleComplete) {
+        if (lastError == null) {
             throw new SchedulingException("Failed to generate complete schedule");
         }
+        throw new SchedulingException(
+                String.format("Failed to generate schedule after %d attempts. Last error: %s",
+                        maxAttempts, lastError.getMessage()), lastError);
+    }
 
-        optimizeSchedule(schedule, sortedCourses, sortedClassrooms);
-        detectAndResolveConflicts(schedule, courses);
+    // Solves the conflict graph's components on their own workers and merges their rooms. Returns
+    // null when there is nothing to split or the merged parts do not fit the rooms. Each part gets one
+    // attempt at a time, so parallelAttempts does not apply here.
+    private ConstraintState runDecomposed(ProblemModel model, SchedulingStrategy strategy, SolverOptions options,
+                                          ProgressThrottle progress) throws SchedulingException {
+        if (!StrategyRegistry.contains(strategy.getName())) {
+            return null;
+        }
+        int workers = Runtime.getRuntime().availableProcessors();
+        ComponentDecomposition decomposition = ComponentDecomposition.of(model, workers * PARTS_PER_WORKER);
+        int parts = decomposition.partCount();
+        if (parts < 2) {
+            return null;
+        }
+
+        ProgressThrottle[] partProgress = progress.split(parts, model.courseCount());
+        ForkJoinPool pool = new ForkJoinPool(Math.min(workers, parts));
+        // A part that fails fails the run, so it stops the others rather than letting them finish.
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicReference<SchedulingException> lastError = new AtomicReference<>();
+        try {
+            List<ForkJoinTask<ConstraintState>> tasks = new ArrayList<>();
+            for (int i = 0; i < parts; i++) {
+                final int part = i;
+                tasks.add(pool.submit(() -> solvePart(decomposition.partModel(part),
+                        StrategyRegistry.create(strategy.getName()), part, options, partProgress[part], stop,
+                        lastError)));
+            }
+            ConstraintState[] solved = new ConstraintState[parts];
+            for (int i = 0; i < parts; i++) {
+                solved[i] = tasks.get(i).join();
+            }
+            if (lastError.get() != null) {
+                throw lastError.get();
+            }
+            ConstraintState merged = decomposition.merge(solved,
+                    options.isWarmStart() ? WarmStart.of(model, options.getPreviousExams()) : null);
+            if (merged == null) {
+                logger.warn("Could not fit the days of {} independently solved parts ({} courses) into the {} "
+                        + "exam days; solving the whole model instead", parts, model.courseCount(), model.dayCount());
+                if (activeTelemetry != null) {
+                    activeTelemetry.recordDecompositionFallback();
+                }
+            }
+            return merged;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-        return schedule;
+    private ConstraintState solvePart(ProblemModel partModel, SchedulingStrategy strategy, int part,
+                                      SolverOptions options, ProgressThrottle progress, AtomicBoolean stop,
+                                      AtomicReference<SchedulingException> lastError) {
+        int maxAttempts = 3;
+        SchedulingException partError = null;
+        WarmStart warmStart = options.isWarmStart() ? WarmStart.of(partModel, options.getPreviousExams()) : null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            if (stop.get() || (attempt > 0 && options.isStopRequested())) {
+                break;
+            }
+            try {
+                Random partRandom = new Random(seed + 31L * part + attempt);
+                return solveAttempt(strategy, partModel, new SolverContext(attempt, partRandom, stop, options,
+                        progress, warmStart, activeTelemetry));
+            } catch (SchedulingException e) {
+                partError = e;
+            }
+        }
+        if (partError != null) {
+            lastError.compareAndSet(null, new SchedulingException(
+                    String.format("Failed to generate schedule after %d attempts. Last error: %s",
+                            maxAttempts, partError.getMessage()), partError));
+            stop.set(true);
+        }
+        return null;
+    }
+
+    private ConstraintState runMultiStart(ProblemModel model, SchedulingStrategy strategy, SolverOptions options,
+                                          ProgressThrottle progress, WarmStart warmStart)
+            throws SchedulingException {
+        int workers = Math.min(parallelAttempts, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicReference<SchedulingException> lastError = new AtomicReference<>();
+
+        try {
+            List<ForkJoinTask<ConstraintState>> tasks = new ArrayList<>();
+            for (int i = 0; i < parallelAttempts; i++) {
+                final int attempt = i;
+                SchedulingStrategy taskStrategy = StrategyRegistry.create(strategy.getName());
+                tasks.add(pool.submit(() -> runSeededAttempt(model, taskStrategy, attempt, stop, options, progress,
+                        warmStart, lastError)));
+            }
+
+            ConstraintState best = null;
+            ConstraintState bestPartial = null;
+            long bestPenalty = Long.MAX_VALUE;
+            for (ForkJoinTask<ConstraintState> task : tasks) {
+                ConstraintState candidate = task.join();
+                if (candidate == null) {
+                    continue;
+                }
+                if (!candidate.isComplete()) {
+                    if (bestPartial == null || candidate.placedCount() > bestPartial.placedCount()) {
+                        bestPartial = candidate;
+                    }
+                    continue;
+                }
+                long penalty = ScheduleEvaluator.penalty(candidate);
+                if (penalty < bestPenalty) {
+                    best = candidate;
+                    bestPenalty = penalty;
+                }
+            }
+
+            if (best == null && bestPartial != null && options.isStopRequested()) {
+                return bestPartial;
+            }
+            if (best == null) {
+                SchedulingException e = lastError.get();
+                throw new SchedulingException(
+                        String.format("Failed to generate schedule after %d attempts. Last error: %s",
+                                parallelAttempts, e != null ? e.getMessage() : "none"), e);
+            }
+            return best;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ConstraintState runSeededAttempt(ProblemModel model, SchedulingStrategy strategy, int attempt,
+                                             AtomicBoolean stop, SolverOptions options,
+                                             ProgressThrottle progress, WarmStart warmStart,
+                                             AtomicReference<SchedulingException> lastError) {
+        if (stop.get()) {
+            return null;
+        }
+
+        ConstraintState state;
+        try {
+            state = solveAttempt(strategy, model, new SolverContext(attempt, new Random(seed + attempt), stop,
+                    options, progress, warmStart, activeTelemetry));
+            if (!state.isComplete()) {
+                return state;
+            }
+        } catch (SchedulingException e) {
+            lastError.set(e);
+            return null;
+        }
+        if (stopAtFirstFeasible) {
+            stop.set(true);
+        }
+        return state;
+    }
+
+    private static ConstraintState solveAttempt(SchedulingStrategy strategy, ProblemModel model,
+                                                SolverContext context) throws SchedulingException {
+        try {
+            return strategy.solve(model, context);
+        } finally {
+            context.recordTelemetry();
+        }
+    }
+
+    private long phaseStart() {
+        return activeTelemetry == null ? 0 : System.nanoTime();
+    }
+
+    private void phaseEnd(SolverTelemetry.Phase phase, long start) {
+        if (activeTelemetry != null) {
+            activeTelemetry.recordPhase(phase, start);
+        }
     }
 
     private void validateInputs(List<Course> courses, List<Classroom> classrooms,
@@ -138,20 +636,20 @@ public class ExamScheduler {
             courseIds.add(course.getCourseCode());
         }
 
-        int maxCapacity = classrooms.stream()
+        // Courses larger than every room are split across rooms; only the total capacity is a hard limit.
+        int totalCapacity = classrooms.stream()
                 .mapToInt(Classroom::getCapacity)
-                .max()
-                .orElse(0);
+                .sum();
 
         List<String> oversizedCourses = courses.stream()
-                .filter(course -> course.getStudentCount() > maxCapacity)
+                .filter(course -> course.getStudentCount() > totalCapacity)
                 .map(Course::getCourseCode)
                 .collect(Collectors.toList());
 
         if (!oversizedCourses.isEmpty()) {
             throw new SchedulingException(
-                    String.format("Courses exceed maximum classroom capacity (%d): %s",
-                            maxCapacity, oversizedCourses)
+                    String.format("Courses exceed total classroom capacity (%d): %s",
+                            totalCapacity, oversizedCourses)
             );
         }
 
@@ -183,385 +681,186 @@ public class ExamScheduler {
                 .collect(Collectors.toList());
     }
 
-    private boolean attemptSchedule(
-            Schedule schedule,
-            List<Course> courses,
-            List<Classroom> classrooms,
-            Map<String, Map<LocalDate, Set<Integer>>> studentSchedule,
-            Map<LocalDate, Map<Integer, Set<String>>> classroomOccupancy,
-            Map<String, ExamSlotAssignment> courseAssignments,
-            Map<LocalDate, Map<Integer, Set<String>>> forbiddenSlots,
-            int minSlot,
-            int maxSlot,
-            int attempt) throws SchedulingException {
-
-        LocalDate startDate = schedule.getStartDate();
-        LocalDate endDate = schedule.getEndDate();
-        int slotsPerDay = maxSlot - minSlot + 1;
-
-        if (attempt > 0) {
-            Collections.shuffle(courses, random);
-        }
-
-        List<Course> pendingCourses = new ArrayList<>(courses);
-        int backtrackLimit = courses.size() * 2; 
-        int backtracks = 0;
-
-        for (int i = 0; i < pendingCourses.size(); i++) {
-            Course course = pendingCourses.get(i);
-            boolean placed = false;
-
-            for (LocalDate date = startDate; !date.isAfter(endDate) && !placed; date = date.plusDays(1)) {
-
-                for (int slot = minSlot; slot <= maxSlot && !placed; slot++) {
-
-                    for (Classroom classroom : classrooms) {
-
-                        if (classroom.getCapacity() < course.getStudentCount()) {
-                            continue;
-                        }
-
-                        if (isClassroomOccupied(date, slot, classroom.getClassroomId(), classroomOccupancy)) {
-                            continue;
-                        }
-
-                        if (!checkStudentAvailability(course, date, slot, studentSchedule, forbiddenSlots)) {
-                            continue;
-                        }
-
-                        Exam exam = createExam(course, classroom, date, slot);
-                        schedule.addExam(exam);
-
-                        updateStudentSchedule(course, date, slot, studentSchedule);
-                        updateClassroomOccupancy(date, slot, classroom.getClassroomId(), classroomOccupancy);
-                        updateForbiddenSlots(course, date, slot, forbiddenSlots, slotsPerDay, studentSchedule);
-
-                        courseAssignments.put(course.getCourseCode(),
-                                new ExamSlotAssignment(date, slot, classroom.getClassroomId()));
-
-                        placed = true;
-                        break;
-                    }
-                }
-            }
-
-            if (!placed) {
-                if (schedule.getExams().isEmpty() || backtracks >= backtrackLimit) {
-                    throw new SchedulingException(
-                            String.format("Cannot place course %s (students: %d).",
-                                    course.getCourseCode(), course.getStudentCount()));
-                }
-
-                backtracks++;
-                Exam lastExam = schedule.getExams().remove(schedule.getExams().size() - 1);
-                Course lastCourse = pendingCourses.get(i - 1);
-
-                removeConstraints(lastCourse, lastExam, studentSchedule,
-                        classroomOccupancy, forbiddenSlots, slotsPerDay);
-                courseAssignments.remove(lastCourse.getCourseCode());
-
-                pendingCourses.add(lastCourse);
-                pendingCourses.add(course);
-                pendingCourses.remove(i - 1);
-                pendingCourses.remove(i - 1);
-
-                i = Math.max(0, i - 2);
-            }
-        }
-
-        return schedule.getExams().size() == courses.size();
+    private Exam createExam(ProblemModel model, int course, int period, int room, int studentCount) {
+        Classroom classroom = model.classroom(room);
+        Exam exam = new Exam(model.course(course).getCourseCode(), classroom.getClassroomId(),
+                model.dateOf(period), model.slotOf(period));
+        exam.setDuration(DEFAULT_EXAM_DURATION_HOURS);
+        exam.setCapacity(classroom.getCapacity());
+        exam.setStudentCount(studentCount);
+        return exam;
     }
 
-    private boolean checkStudentAvailability(Course course, LocalDate date, int slot,
-                                             Map<String, Map<LocalDate, Set<Integer>>> studentSchedule,
-                                             Map<LocalDate, Map<Integer, Set<String>>> forbiddenSlots) {
-        Map<Integer, Set<String>> dayForbiddenSlots = forbiddenSlots.get(date);
-        if (dayForbiddenSlots != null) {
-            Set<String> forbiddenStudents = dayForbiddenSlots.get(slot);
-            if (forbiddenStudents != null) {
-                for (String studentId : course.getEnrolledStudents()) {
-                    if (forbiddenStudents.contains(studentId)) {
-                        return false; 
-                    }
-                }
-            }
-        }
-
-        for (String studentId : course.getEnrolledStudents()) {
-            Map<LocalDate, Set<Integer>> studentDaySchedule = studentSchedule.get(studentId);
-            if (studentDaySchedule != null) {
-                Set<Integer> daySlots = studentDaySchedule.get(date);
-                if (daySlots != null) {
-                    if (daySlots.size() >= maxExamsPerDay) {
-                        return false;
-                    }
 
-                    for (int existingSlot : daySlots) {
-                        if (Math.abs(existingSlot - slot) <= minGapBetweenExams) {
-                            return false;
-                        }
-                    }
-                }
-            }
+    // Skipped on a warm start: annealing would trade the kept placement for a lower penalty.
+    private void optimizeSchedule(ConstraintState state, SolverOptions options) {
+        long scaled = Math.min(optimizationTimeMillis,
+                OPTIMIZATION_MILLIS_PER_COURSE * state.getModel().courseCount());
+        long budget = Math.min(scaled, options.remainingMillis());
+        if (budget <= 0 || options.isCancelled() || options.isWarmStart()) {
+            return;
         }
-
-        return true; 
-    }
-
-    private boolean isClassroomOccupied(LocalDate date, int slot, String classroomId,
-                                        Map<LocalDate, Map<Integer, Set<String>>> classroomOccupancy) {
-        return Optional.ofNullable(classroomOccupancy.get(date))
-                .map(slotOccupancy -> slotOccupancy.get(slot))
-                .map(occupiedClassrooms -> occupiedClassrooms.contains(classroomId))
-                .orElse(false);
-    }
-
-    private void updateStudentSchedule(Course course, LocalDate date, int slot,
-                                       Map<String, Map<LocalDate, Set<Integer>>> studentSchedule) {
-
-        for (String studentId : course.getEnrolledStudents()) {
-            studentSchedule.computeIfAbsent(studentId, k -> new HashMap<>())
-                    .computeIfAbsent(date, k -> new HashSet<>())
-                    .add(slot);
+        AnnealingOptimizer optimizer = new AnnealingOptimizer();
+        optimizer.optimize(state, budget, new Random(seed), options.getCancelToken());
+        if (activeTelemetry != null) {
+            activeTelemetry.recordOptimizerIterations(optimizer.getIterations());
         }
     }
 
-    private void updateClassroomOccupancy(LocalDate date, int slot, String classroomId,
-                                          Map<LocalDate, Map<Integer, Set<String>>> classroomOccupancy) {
-
-        classroomOccupancy.computeIfAbsent(date, k -> new HashMap<>())
-                .computeIfAbsent(slot, k -> new HashSet<>())
-                .add(classroomId);
+    private void detectConflicts(Schedule schedule, List<Course> courses) {
+        detectConflicts(schedule, new EnrollmentOverlaps(courses));
     }
 
+    // Works per day on the first exam of every course. Only courses that share a student with
+    // another course that day are expanded into students, so a clean day costs a few cached
+    // bitmap overlaps.
+    private void detectConflicts(Schedule schedule, EnrollmentOverlaps overlaps) {
+        conflicts.clear();
 
-    private void updateForbiddenSlots(Course course, LocalDate date, int slot,
-                                      Map<LocalDate, Map<Integer, Set<String>>> forbiddenSlots,
-                                      int slotsPerDay,
-                                      Map<String, Map<LocalDate, Set<Integer>>> studentSchedule) {
-
-        for (String studentId : course.getEnrolledStudents()) {
-            Map<LocalDate, Set<Integer>> studentDaySchedule = studentSchedule.get(studentId);
-            if (studentDaySchedule != null) {
-                Set<Integer> daySlots = studentDaySchedule.get(date);
-                if (daySlots != null) {
-                    markSlotForbidden(date, slot, studentId, forbiddenSlots);
-
-                    if (slot > 0) {
-                        markSlotForbidden(date, slot - 1, studentId, forbiddenSlots);
-                    }
-                    if (slot < slotsPerDay - 1) {
-                        markSlotForbidden(date, slot + 1, studentId, forbiddenSlots);
-                    }
-
-                    if (daySlots.size() >= maxExamsPerDay) {
-                        for (int s = 0; s < slotsPerDay; s++) {
-                            markSlotForbidden(date, s, studentId, forbiddenSlots);
-                        }
-                    }
+        Map<LocalDate, List<Exam>> examsByDate = new TreeMap<>();
+        boolean[] seenCourses = new boolean[overlaps.courseCount()];
+        int maxStudent = -1;
+        for (Exam exam : schedule.getExams()) {
+            int course = overlaps.indexOf(exam.getCourseCode());
+            if (course >= 0 && !seenCourses[course]) {
+                seenCourses[course] = true;
+                examsByDate.computeIfAbsent(exam.getExamDate(), k -> new ArrayList<>()).add(exam);
+                EnrollmentSet enrollment = overlaps.enrollment(course);
+                if (!enrollment.isEmpty()) {
+                    maxStudent = Math.max(maxStudent, enrollment.get(enrollment.size() - 1));
                 }
             }
         }
-    }
-
-    private void markSlotForbidden(LocalDate date, int slot, String studentId,
-                                   Map<LocalDate, Map<Integer, Set<String>>> forbiddenSlots) {
-
-        forbiddenSlots.computeIfAbsent(date, k -> new HashMap<>())
-                .computeIfAbsent(slot, k -> new HashSet<>())
-                .add(studentId);
-    }
-
-
-    private void removeConstraints(Course course, Exam exam,
-                                   Map<String, Map<LocalDate, Set<Integer>>> studentSchedule,
-                                   Map<LocalDate, Map<Integer, Set<String>>> classroomOccupancy,
-                                   Map<LocalDate, Map<Integer, Set<String>>> forbiddenSlots,
-                                   int slotsPerDay) {
-
-        LocalDate examDate = exam.getExamDate();
-        int examSlot = exam.getSlot();
-
-        for (String studentId : course.getEnrolledStudents()) {
-            Optional.ofNullable(studentSchedule.get(studentId))
-                    .map(daySchedule -> daySchedule.get(examDate))
-                    .ifPresent(daySlots -> {
-                        daySlots.remove(examSlot);
-                        if (daySlots.isEmpty()) {
-                            studentSchedule.get(studentId).remove(examDate);
-                        }
-                    });
-        }
-
-        Optional.ofNullable(classroomOccupancy.get(examDate))
-                .map(slotOccupancy -> slotOccupancy.get(examSlot))
-                .ifPresent(occupied -> {
-                    occupied.remove(exam.getClassroomId());
-                    if (occupied.isEmpty()) {
-                        classroomOccupancy.get(examDate).remove(examSlot);
-                    }
-                });
 
-        for (String studentId : course.getEnrolledStudents()) {
-            if (forbiddenSlots.containsKey(examDate)) {
-                forbiddenSlots.get(examDate).values().forEach(studentSet -> studentSet.remove(studentId));
+        int[] examCount = new int[maxStudent + 1];
+        int[] touched = new int[maxStudent + 1];
+        StudentIndex studentIndex = overlaps.studentIndex();
+        for (var dateEntry : examsByDate.entrySet()) {
+            LocalDate date = dateEntry.getKey();
+            List<Exam> dayExams = dateEntry.getValue();
+            int[] dayCourses = new int[dayExams.size()];
+            for (int i = 0; i < dayCourses.length; i++) {
+                dayCourses[i] = overlaps.indexOf(dayExams.get(i).getCourseCode());
             }
 
-            Set<Integer> remainingSlots = Optional.ofNullable(studentSchedule.get(studentId))
-                    .map(daySchedule -> daySchedule.get(examDate))
-                    .orElse(Collections.emptySet());
-
-            for (int remainingSlot : remainingSlots) {
-                markSlotForbidden(examDate, remainingSlot, studentId, forbiddenSlots); 
-                if (remainingSlot > 0) {
-                    markSlotForbidden(examDate, remainingSlot - 1, studentId, forbiddenSlots); 
-                }
-                if (remainingSlot < slotsPerDay - 1) {
-                    markSlotForbidden(examDate, remainingSlot + 1, studentId, forbiddenSlots); 
+            // With at least one exam allowed per day, a lone exam cannot conflict.
+            boolean[] shared = new boolean[dayCourses.length];
+            boolean anyShared = false;
+            for (int i = 0; i < dayCourses.length; i++) {
+                shared[i] = maxExamsPerDay < 1;
+                for (int j = 0; j < dayCourses.length && !shared[i]; j++) {
+                    shared[i] = j != i && overlaps.overlap(dayCourses[i], dayCourses[j]) > 0;
                 }
+                anyShared |= shared[i];
+            }
+            if (!anyShared) {
+                continue;
             }
 
-            if (remainingSlots.size() >= maxExamsPerDay) {
-                for (int s = 0; s < slotsPerDay; s++) {
-                    markSlotForbidden(examDate, s, studentId, forbiddenSlots);
+            int touchedCount = 0;
+            for (int i = 0; i < dayCourses.length; i++) {
+                if (!shared[i]) {
+                    continue;
+                }
+                EnrollmentSet enrollment = overlaps.enrollment(dayCourses[i]);
+                for (int k = 0; k < enrollment.size(); k++) {
+                    int student = enrollment.get(k);
+                    if (examCount[student]++ == 0) {
+                        touched[touchedCount++] = student;
+                    }
                 }
             }
-        }
-    }
-
-    private Exam createExam(Course course, Classroom classroom, LocalDate date, int slot) {
-        Exam exam = new Exam(course.getCourseCode(), classroom.getClassroomId(), date, slot);
-        exam.setDuration(DEFAULT_EXAM_DURATION_HOURS);
-        exam.setCapacity(classroom.getCapacity());
-        return exam;
-    }
-
-
-    private void optimizeSchedule(Schedule schedule, List<Course> courses, List<Classroom> classrooms) {
-        balanceClassroomUsage(schedule, classrooms);
-
-        minimizeStudentTravel(schedule, courses);
-
-        schedule.getExams().sort(Comparator
-                .comparing(Exam::getExamDate)
-                .thenComparing(Exam::getSlot));
-    }
-
-    private void balanceClassroomUsage(Schedule schedule, List<Classroom> classrooms) {
-        Map<String, Integer> classroomUsage = new HashMap<>();
-        for (Exam exam : schedule.getExams()) {
-            classroomUsage.merge(exam.getClassroomId(), 1, Integer::sum);
-        }
-
-    }
-
-    private void minimizeStudentTravel(Schedule schedule, List<Course> courses) {
-        
-        Map<String, List<Exam>> examsByStudent = new HashMap<>();
-        Map<String, Course> courseMap = courses.stream()
-                .collect(Collectors.toMap(Course::getCourseCode, c -> c));
-
-        for (Exam exam : schedule.getExams()) {
-            Course course = courseMap.get(exam.getCourseCode());
-            if (course != null) {
-                for (String studentId : course.getEnrolledStudents()) {
-                    examsByStudent.computeIfAbsent(studentId, k -> new ArrayList<>())
-                            .add(exam);
+            Arrays.sort(touched, 0, touchedCount);
+
+            for (int t = 0; t < touchedCount; t++) {
+                int student = touched[t];
+                int count = examCount[student];
+                examCount[student] = 0;
+                if (count < 2 && count <= maxExamsPerDay) {
+                    continue;
                 }
+                List<Exam> exams = new ArrayList<>(count);
+                for (int i = 0; i < dayCourses.length; i++) {
+                    if (shared[i] && overlaps.bitmap(dayCourses[i]).contains(student)) {
+                        exams.add(dayExams.get(i));
+                    }
+                }
+                checkStudentDay(studentIndex.idOf(student), date, exams);
             }
         }
-
-      
     }
 
-    private void detectAndResolveConflicts(Schedule schedule, List<Course> courses) {
-        conflicts.clear();
-
-        Map<String, Course> courseMap = courses.stream()
-                .collect(Collectors.toMap(Course::getCourseCode, c -> c));
-
-
-        Map<LocalDate, Map<Integer, Set<String>>> classroomCheck = new HashMap<>();
-        for (Exam exam : schedule.getExams()) {
-            classroomCheck.computeIfAbsent(exam.getExamDate(), k -> new HashMap<>())
-                    .computeIfAbsent(exam.getSlot(), k -> new HashSet<>())
-                    .add(exam.getClassroomId());
+    private void checkStudentDay(String studentId, LocalDate date, List<Exam> exams) {
+        if (exams.size() > maxExamsPerDay) {
+            conflicts.add(new Conflict(
+                    Conflict.Type.MAX_EXAMS_VIOLATION,
+                    String.format("Student %s has %d exams on %s (max: %d)",
+                            studentId, exams.size(), date, maxExamsPerDay),
+                    studentId, date, exams
+            ));
         }
 
-     
-        Map<String, Map<LocalDate, List<Exam>>> examsByStudent = new HashMap<>();
-        for (Exam exam : schedule.getExams()) {
-            Course course = courseMap.get(exam.getCourseCode());
-            if (course != null) {
-                for (String studentId : course.getEnrolledStudents()) {
-                    examsByStudent.computeIfAbsent(studentId, k -> new HashMap<>())
-                            .computeIfAbsent(exam.getExamDate(), k -> new ArrayList<>())
-                            .add(exam);
-                }
-            }
+        int[] slots = new int[exams.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = exams.get(i).getSlot();
         }
+        Arrays.sort(slots);
 
-
-        for (var studentEntry : examsByStudent.entrySet()) {
-            String studentId = studentEntry.getKey();
-            Map<LocalDate, List<Exam>> examsByDate = studentEntry.getValue();
-
-            for (var dateEntry : examsByDate.entrySet()) {
-                LocalDate date = dateEntry.getKey();
-                List<Exam> exams = dateEntry.getValue();
-
-       
-                if (exams.size() > maxExamsPerDay) {
-                    conflicts.add(new Conflict(
-                            Conflict.Type.MAX_EXAMS_VIOLATION,
-                            String.format("Student %s has %d exams on %s (max: %d)",
-                                    studentId, exams.size(), date, maxExamsPerDay),
-                            studentId, date, exams
-                    ));
-                }
-
-          
-                List<Integer> slots = exams.stream()
-                        .map(Exam::getSlot)
-                        .sorted()
+        for (int i = 0; i < slots.length - 1; i++) {
+            final int nextSlot = slots[i + 1];
+            final int currentSlot = slots[i];
+            if (nextSlot - currentSlot <= minGapBetweenExams) {
+                List<Exam> consecutiveExams = exams.stream()
+                        .filter(e -> e.getSlot() == currentSlot || e.getSlot() == nextSlot)
                         .collect(Collectors.toList());
 
-                for (int i = 0; i < slots.size() - 1; i++) {
-                    final int nextSlot = slots.get(i + 1);
-                    final int currentSlot = slots.get(i);
-                    if (nextSlot - currentSlot <= minGapBetweenExams) {
-                        List<Exam> consecutiveExams = exams.stream()
-                                .filter(e -> e.getSlot() == currentSlot || e.getSlot() == nextSlot)
-                                .collect(Collectors.toList());
-
-                        conflicts.add(new Conflict(
-                                Conflict.Type.CONSECUTIVE_EXAMS,
-                                String.format("Student %s has consecutive exams at slots %d and %d on %s",
-                                        studentId, slots.get(i), slots.get(i + 1), date),
-                                studentId, date, consecutiveExams
-                        ));
-                    }
-                }
+                conflicts.add(new Conflict(
+                        Conflict.Type.CONSECUTIVE_EXAMS,
+                        String.format("Student %s has consecutive exams at slots %d and %d on %s",
+                                studentId, currentSlot, nextSlot, date),
+                        studentId, date, consecutiveExams
+                ));
             }
         }
-
-
-        if (!conflicts.isEmpty()) {
-            autoResolveConflicts(schedule, conflicts);
-        }
     }
 
-    private void autoResolveConflicts(Schedule schedule, List<Conflict> conflictsToResolve) {
-
-
-        for (Conflict conflict : conflictsToResolve) {
-            if (conflict.getType() == Conflict.Type.CONSECUTIVE_EXAMS &&
-                    !conflict.getExams().isEmpty()) {
+    // An edit can leave students of the previous placement with conflicts. Kempe-chain swaps move
+    // whole chains of courses out of them, within REPAIR_KEMPE_TIME_MILLIS or the optimisation time
+    // if that is shorter, so the repairer displaces fewer exams. Returns moved copies, or the same
+    // list if nothing moved; rooms are left to the repairer.
+    private List<Exam> resolveWithKempeChains(ProblemModel model, List<Exam> exams) {
+        long budget = Math.min(optimizationTimeMillis, REPAIR_KEMPE_TIME_MILLIS);
+        if (budget <= 0) {
+            return exams;
+        }
+        int[] periods = new int[model.courseCount()];
+        Arrays.fill(periods, ConstraintState.UNASSIGNED);
+        for (Exam exam : exams) {
+            int course = model.courseIndexOf(exam.getCourseCode());
+            if (course >= 0 && periods[course] == ConstraintState.UNASSIGNED) {
+                periods[course] = model.periodOf(exam.getExamDate(), exam.getSlot());
+            }
+        }
 
-                Exam examToMove = conflict.getExams().get(0);
+        KempeChainRepairer repairer = new KempeChainRepairer();
+        repairer.repair(model, periods, budget);
+        logger.debug("Kempe-chain repair of the previous schedule: {} conflicts, {} after {} swaps",
+                repairer.getInitialConflicts(), repairer.getFinalConflicts(), repairer.getSwaps());
+        if (repairer.getSwaps() == 0) {
+            return exams;
+        }
 
+        List<Exam> moved = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            int course = model.courseIndexOf(exam.getCourseCode());
+            if (course < 0 || model.isFixed(course) || periods[course] == ConstraintState.UNASSIGNED) {
+                moved.add(exam);
+                continue;
             }
+            moved.add(new Exam(exam.getCourseCode(), exam.getClassroomId(), model.dateOf(periods[course]),
+                    model.slotOf(periods[course])));
         }
+        return moved;
     }
 
     public List<Conflict> getConflicts() {
@@ -574,25 +873,14 @@ public class ExamScheduler {
 
 
 
-    private static class ExamSlotAssignment {
-        final LocalDate date;
-        final int slot;
-        final String classroomId;
-
-        ExamSlotAssignment(LocalDate date, int slot, String classroomId) {
-            this.date = date;
-            this.slot = slot;
-            this.classroomId = classroomId;
-        }
-    }
-
     public static class Conflict {
         public enum Type {
             MAX_EXAMS_VIOLATION,
             CONSECUTIVE_EXAMS,
             CLASSROOM_DOUBLE_BOOKING,
             CAPACITY_EXCEEDED,
-            UNAVAILABLE_CLASSROOM
+            UNAVAILABLE_CLASSROOM,
+            UNPLACED_COURSE
         }
 
         private final Type type;
@@ -634,30 +922,31 @@ public class ExamScheduler {
 
 
     public ScheduleMetrics calculateMetrics(Schedule schedule, List<Course> courses) {
-        Map<String, Course> courseMap = courses.stream()
-                .collect(Collectors.toMap(Course::getCourseCode, c -> c));
+        EnrollmentOverlaps overlaps = new EnrollmentOverlaps(courses);
 
-        int totalStudents = 0;
         int totalExams = schedule.getExams().size();
         int totalClassroomsUsed = (int) schedule.getExams().stream()
                 .map(Exam::getClassroomId)
                 .distinct()
                 .count();
 
-        Map<String, Integer> examsPerStudent = new HashMap<>();
+        // Students with at least one exam, and their exams counted once per course. The union goes
+        // into one set over the interned student indexes rather than a new bitmap per course.
+        BitSet students = new BitSet(overlaps.studentIndex().size());
+        long enrollments = 0;
+        boolean[] seenCourses = new boolean[overlaps.courseCount()];
         for (Exam exam : schedule.getExams()) {
-            Course course = courseMap.get(exam.getCourseCode());
-            if (course != null) {
-                for (String studentId : course.getEnrolledStudents()) {
-                    examsPerStudent.merge(studentId, 1, Integer::sum);
-                }
+            int course = overlaps.indexOf(exam.getCourseCode());
+            if (course >= 0 && !seenCourses[course]) {
+                seenCourses[course] = true;
+                StudentBitmap bitmap = overlaps.bitmap(course);
+                bitmap.forEach(students::set);
+                enrollments += bitmap.cardinality();
             }
         }
 
-        double avgExamsPerStudent = examsPerStudent.values().stream()
-                .mapToInt(Integer::intValue)
-                .average()
-                .orElse(0.0);
+        int studentCount = students.cardinality();
+        double avgExamsPerStudent = studentCount == 0 ? 0.0 : (double) enrollments / studentCount;
 
         return new ScheduleMetrics(totalExams, totalClassroomsUsed, avgExamsPerStudent);
     }
@@ -0,0 +1,77 @@
+package com.examify.model;
+
+import java.sql.*;
+import java.util.logging.Logger;
+
+/**
+ * Brings an exams table created before multi-room splitting up to date.
+ * The old table allowed one row per course and had no student count; the
+ * new one keys rows by course and room and fills the count from the
+ * course's enrolments. Tables that already have the column are left alone.
+ */
+final class ExamsTableMigration {
+    private static final Logger logger = Logger.getLogger(ExamsTableMigration.class.getName());
+
+    private ExamsTableMigration() {}
+
+    static void migrate(Connection connection) throws SQLException {
+        boolean hasStudentCount = false;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(exams)")) {
+            while (rs.next()) {
+                if ("student_count".equalsIgnoreCase(rs.getString("name"))) {
+                    hasStudentCount = true;
+                }
+            }
+        }
+        if (hasStudentCount) {
+            return;
+        }
+
+        String[] migrationStatements = {
+            """
+            CREATE TABLE exams_new (
+                exam_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                schedule_id INTEGER NOT NULL,
+                course_code TEXT NOT NULL,
+                classroom_id TEXT NOT NULL,
+                exam_date DATE NOT NULL,
+                slot INTEGER NOT NULL CHECK(slot >= 0),
+                duration INTEGER DEFAULT 2,
+                student_count INTEGER DEFAULT 0,
+                FOREIGN KEY (schedule_id) REFERENCES schedules(schedule_id) ON DELETE CASCADE,
+                FOREIGN KEY (schedule_id, course_code) REFERENCES courses(schedule_id, course_code),
+                FOREIGN KEY (schedule_id, classroom_id) REFERENCES classrooms(schedule_id, classroom_id),
+                UNIQUE(schedule_id, classroom_id, exam_date, slot),
+                UNIQUE(schedule_id, course_code, classroom_id)
+            )
+            """,
+            """
+            INSERT INTO exams_new (exam_id, schedule_id, course_code, classroom_id, exam_date, slot, duration, student_count)
+            SELECT e.exam_id, e.schedule_id, e.course_code, e.classroom_id, e.exam_date, e.slot, e.duration,
+                   (SELECT COUNT(*) FROM enrollments en
+                    WHERE en.schedule_id = e.schedule_id AND en.course_code = e.course_code)
+            FROM exams e
+            """,
+            "DROP TABLE exams",
+            "ALTER TABLE exams_new RENAME TO exams"
+        };
+
+        try {
+            connection.setAutoCommit(false);
+            for (String sql : migrationStatements) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(sql);
+                }
+            }
+            connection.commit();
+            logger.info("Migrated exams table to per-room student counts");
+        } catch (SQLException e) {
+            connection.rollback();
+            logger.severe("Failed to migrate exams table: " + e.getMessage());
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.examify.model;
+
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Reproducible synthetic scheduling instances. Students belong to faculties
+ * and take most of their courses there, so the conflict graph has the
+ * clustered shape of real enrolment data; course popularity inside a
+ * faculty is skewed by a Zipf exponent. The same seed and settings always
+ * give the same instance. Instances are written in the formats
+ * {@link FileImportService} reads: the multi-course enrolment CSV or a JSON
+ * array of enrolments, and the classroom CSV with its header line or a JSON
+ * array of classrooms.
+ */
+public class InstanceGenerator {
+
+    public static final String CLASSROOM_CSV_HEADER = "ALL OF THE CLASSROOMS; AND THEIR CAPACITIES IN THE SYSTEM";
+
+    public enum Format { CSV, JSON }
+
+    private long seed = 1;
+    private int students = 1000;
+    private int courses = 80;
+    private int minCoursesPerStudent = 4;
+    private int maxCoursesPerStudent = 6;
+    private int faculties = 8;
+    private double facultyAffinity = 0.8;
+    private double popularitySkew = 0.8;
+    private int classrooms = 25;
+    private int[] roomCapacities = {40, 60, 80, 120, 200, 300};
+    private double[] roomWeights = {4, 3, 3, 2, 1, 1};
+    private LocalDate startDate = LocalDate.of(2025, 1, 6);
+    private int days = 20;
+    private int minSlot = 1;
+    private int maxSlot = 4;
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public int getStudents() { return students; }
+    public void setStudents(int students) { this.students = Math.max(1, students); }
+
+    public int getCourses() { return courses; }
+    public void setCourses(int courses) { this.courses = Math.max(1, courses); }
+
+    /** Each student takes a uniformly drawn number of courses in {@code [min, max]}, capped by the course count. */
+    public void setCoursesPerStudent(int min, int max) {
+        this.minCoursesPerStudent = Math.max(1, min);
+        this.maxCoursesPerStudent = Math.max(minCoursesPerStudent, max);
+    }
+    public int getMinCoursesPerStudent() { return minCoursesPerStudent; }
+    public int getMaxCoursesPerStudent() { return maxCoursesPerStudent; }
+
+    public int getFaculties() { return faculties; }
+    public void setFaculties(int faculties) { this.faculties = Math.max(1, faculties); }
+
+    /** Share of a student's courses taken inside their own faculty. */
+    public double getFacultyAffinity() { return facultyAffinity; }
+    public void setFacultyAffinity(double facultyAffinity) {
+        this.facultyAffinity = Math.min(1, Math.max(0, facultyAffinity));
+    }
+
+    /** Zipf exponent of course popularity; 0 makes all courses equally likely. */
+    public double getPopularitySkew() { return popularitySkew; }
+    public void setPopularitySkew(double popularitySkew) {
+        this.popularitySkew = Math.max(0, popularitySkew);
+    }
+
+    public int getClassrooms() { return classrooms; }
+    public void setClassrooms(int classrooms) { this.classrooms = Math.max(1, classrooms); }
+
+    /** Room capacities and their relative frequencies. */
+    public void setRoomSizes(int[] capacities, double[] weights) {
+        if (capacities.length == 0 || capacities.length != weights.length) {
+            throw new IllegalArgumentException("Room capacities and weights must be non-empty and of equal length");
+        }
+        this.roomCapacities = capacities.clone();
+        this.roomWeights = weights.clone();
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = Math.max(1, days); }
+
+    public LocalDate getEndDate() { return startDate.plusDays(days - 1); }
+
+    public int getMinSlot() { return minSlot; }
+    public int getMaxSlot() { return maxSlot; }
+    public void setSlots(int minSlot, int maxSlot) {
+        this.minSlot = minSlot;
+        this.maxSlot = Math.max(minSlot, maxSlot);
+    }
+
+    public String studentId(int student) {
+        return String.format("Std_ID_%0" + digits(students) + "d", student);
+    }
+
+    public String courseCode(int course) {
+        return String.format("CourseCode_%0" + digits(courses) + "d", course + 1);
+    }
+
+    public String classroomId(int room) {
+        return String.format("Classroom_%0" + digits(classrooms) + "d", room + 1);
+    }
+
+    private static int digits(int count) {
+        return Math.max(2, String.valueOf(count).length());
+    }
+
+    /** Courses with their enrolled students; courses nobody picked are left out. */
+    public List<Course> generateCourses() {
+        Random random = new Random(seed);
+        int facultyCount = Math.min(faculties, courses);
+        double[] cumulative = new double[courses];
+        for (int f = 0; f < facultyCount; f++) {
+            double sum = 0;
+            for (int c = facultyStart(f, facultyCount); c < facultyStart(f + 1, facultyCount); c++) {
+                sum += 1.0 / Math.pow(c - facultyStart(f, facultyCount) + 1, popularitySkew);
+                cumulative[c] = sum;
+            }
+        }
+        double[] allCumulative = new double[courses];
+        double total = 0;
+        for (int c = 0; c < courses; c++) {
+            total += 1.0 / Math.pow(c + 1, popularitySkew);
+            allCumulative[c] = total;
+        }
+
+        List<Course> list = new ArrayList<>(courses);
+        for (int c = 0; c < courses; c++) {
+            list.add(new Course(courseCode(c)));
+        }
+        Set<Integer> picked = new HashSet<>();
+        for (int s = 0; s < students; s++) {
+            int faculty = random.nextInt(facultyCount);
+            int from = facultyStart(faculty, facultyCount);
+            int to = facultyStart(faculty + 1, facultyCount);
+            int wanted = Math.min(courses,
+                    minCoursesPerStudent + random.nextInt(maxCoursesPerStudent - minCoursesPerStudent + 1));
+            picked.clear();
+            while (picked.size() < wanted) {
+                boolean own = random.nextDouble() < facultyAffinity && picked.size() < to - from;
+                picked.add(own ? draw(cumulative, from, to, random) : draw(allCumulative, 0, courses, random));
+            }
+            String id = studentId(s);
+            for (int c : picked) {
+                list.get(c).addEnrolledStudent(id);
+            }
+        }
+        list.removeIf(course -> course.getEnrolledStudents().isEmpty());
+        return list;
+    }
+
+    public List<Classroom> generateClassrooms() {
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+        double total = Arrays.stream(roomWeights).sum();
+        List<Classroom> list = new ArrayList<>(classrooms);
+        for (int r = 0; r < classrooms; r++) {
+            double x = random.nextDouble() * total;
+            int k = 0;
+            while (k < roomCapacities.length - 1 && x >= roomWeights[k]) {
+                x -= roomWeights[k];
+                k++;
+            }
+            list.add(new Classroom(classroomId(r), roomCapacities[k]));
+        }
+        return list;
+    }
+
+    private int facultyStart(int faculty, int facultyCount) {
+        return (int) ((long) faculty * courses / facultyCount);
+    }
+
+    // Index in [from, to) drawn by the prefix sums in cumulative, which restart at from.
+    private static int draw(double[] cumulative, int from, int to, Random random) {
+        double x = random.nextDouble() * cumulative[to - 1];
+        int index = Arrays.binarySearch(cumulative, from, to, x);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, to - 1);
+    }
+
+    /** Writes the enrolment and classroom files into {@code directory} and returns their paths. */
+    public Path[] write(Path directory, Format format) throws IOException {
+        Files.createDirectories(directory);
+        String extension = format == Format.CSV ? ".csv" : ".json";
+        Path enrollments = directory.resolve("generated_Enrollments" + extension);
+        Path rooms = directory.resolve("generated_Classrooms" + extension);
+        writeEnrollments(generateCourses(), enrollments, format);
+        writeClassrooms(generateClassrooms(), rooms, format);
+        return new Path[]{enrollments, rooms};
+    }
+
+    public static void writeEnrollments(List<Course> courses, Path file, Format format) throws IOException {
+        if (format == Format.JSON) {
+            List<Map<String, String>> rows = new ArrayList<>();
+            for (Course course : courses) {
+                for (String student : sorted(course.getEnrolledStudents())) {
+                    Map<String, String> row = new LinkedHashMap<>();
+                    row.put("student_id", student);
+                    row.put("course_code", course.getCourseCode());
+                    rows.add(row);
+                }
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), rows);
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Course course : courses) {
+                writer.write(course.getCourseCode());
+                writer.newLine();
+                StringJoiner students = new StringJoiner(", ", "[", "]");
+                for (String student : sorted(course.getEnrolledStudents())) {
+                    students.add("'" + student + "'");
+                }
+                writer.write(students.toString());
+                writer.newLine();
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void writeClassrooms(List<Classroom> classrooms, Path file, Format format) throws IOException {
+        if (format == Format.JSON) {
+            List<Map<String, String>> rows = new ArrayList<>();
+            for (Classroom classroom : classrooms) {
+                Map<String, String> row = new LinkedHashMap<>();
+                row.put("classroom_id", classroom.getClassroomId());
+                row.put("capacity", String.valueOf(classroom.getCapacity()));
+                rows.add(row);
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), rows);
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(CLASSROOM_CSV_HEADER);
+            writer.newLine();
+            for (Classroom classroom : classrooms) {
+                writer.write(classroom.getClassroomId() + ";" + classroom.getCapacity());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static List<String> sorted(Set<String> students) {
+        List<String> list = new ArrayList<>(students);
+        Collections.sort(list);
+        return list;
+    }
+}
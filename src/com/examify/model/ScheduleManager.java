@@ -3,6 +3,9 @@ package com.examify.model;
 
 import com.examify.model.entities.*;
 import com.examify.model.ExamScheduler.SchedulingException;
+import com.examify.model.scheduling.SchedulingStrategy;
+import com.examify.model.scheduling.SolverOptions;
+import com.examify.model.scheduling.StrategyRegistry;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,15 +21,24 @@ public class ScheduleManager {
     public ScheduleManager(DatabaseConnection dbConnection) {
         this.dbConnection = dbConnection;
         this.examScheduler = new ExamScheduler();
+        examScheduler.getSolutionCache().setDatabase(dbConnection);
     }
     
     public Schedule createSchedule(int scheduleId, String name, LocalDate startDate,
                                    LocalDate endDate, int minSlot, int maxSlot,
                                    List<Course> courses, List<Classroom> classrooms)
             throws SchedulingException {
+        return createSchedule(scheduleId, name, startDate, endDate, minSlot, maxSlot, courses, classrooms, null);
+    }
+
+    public Schedule createSchedule(int scheduleId, String name, LocalDate startDate,
+                                   LocalDate endDate, int minSlot, int maxSlot,
+                                   List<Course> courses, List<Classroom> classrooms,
+                                   String strategyName)
+            throws SchedulingException {
 
         Schedule schedule = examScheduler.generateSchedule(
-                name, courses, classrooms, startDate, endDate, minSlot, maxSlot);
+                name, courses, classrooms, startDate, endDate, minSlot, maxSlot, resolveStrategy(strategyName));
 
         schedule.setScheduleId(scheduleId);
         for (Exam exam : schedule.getExams()) {
@@ -52,9 +64,17 @@ public class ScheduleManager {
                                    LocalDate endDate, int minSlot, int maxSlot,
                                    List<Course> courses, List<Classroom> classrooms)
             throws SchedulingException {
+        return createSchedule(name, startDate, endDate, minSlot, maxSlot, courses, classrooms, null);
+    }
+
+    public Schedule createSchedule(String name, LocalDate startDate,
+                                   LocalDate endDate, int minSlot, int maxSlot,
+                                   List<Course> courses, List<Classroom> classrooms,
+                                   String strategyName)
+            throws SchedulingException {
 
         Schedule schedule = examScheduler.generateSchedule(
-                name, courses, classrooms, startDate, endDate, minSlot, maxSlot);
+                name, courses, classrooms, startDate, endDate, minSlot, maxSlot, resolveStrategy(strategyName));
 
         schedule.setMinSlot(minSlot);
         schedule.setMaxSlot(maxSlot);
@@ -72,6 +92,20 @@ public class ScheduleManager {
         }
     }
     
+    public List<String> getAvailableStrategies() {
+        return StrategyRegistry.names();
+    }
+
+    private SchedulingStrategy resolveStrategy(String strategyName) throws SchedulingException {
+        if (strategyName == null) {
+            return examScheduler.getStrategy();
+        }
+        if (!StrategyRegistry.contains(strategyName)) {
+            throw new SchedulingException("Unknown scheduling strategy: " + strategyName);
+        }
+        return StrategyRegistry.create(strategyName);
+    }
+
     public List<Schedule> getAllSchedules() {
         try {
             return dbConnection.loadAllSchedules();
@@ -161,8 +195,19 @@ public class ScheduleManager {
     }
 
     public Schedule recreateSchedule(int scheduleId, String name, LocalDate startDate, LocalDate endDate, int minSlot, int maxSlot, List<Course> courses, List<Classroom> classrooms) throws SchedulingException {
+        return recreateSchedule(scheduleId, name, startDate, endDate, minSlot, maxSlot, courses, classrooms, null);
+    }
+
+    public Schedule recreateSchedule(int scheduleId, String name, LocalDate startDate, LocalDate endDate, int minSlot, int maxSlot, List<Course> courses, List<Classroom> classrooms, String strategyName) throws SchedulingException {
+        SchedulingStrategy strategy = resolveStrategy(strategyName);
         try {
-            Schedule newSchedule = examScheduler.generateSchedule(name, courses, classrooms, startDate, endDate, minSlot, maxSlot);
+            // The stored placement seeds the search, so unchanged courses mostly keep their date, slot and room.
+            Schedule previous = dbConnection.loadSchedule(scheduleId);
+            SolverOptions options = SolverOptions.none();
+            if (previous != null) {
+                options.setPreviousExams(previous.getExams());
+            }
+            Schedule newSchedule = examScheduler.generateSchedule(name, courses, classrooms, startDate, endDate, minSlot, maxSlot, strategy, options);
             
             newSchedule.setScheduleId(scheduleId);
             for (Exam exam : newSchedule.getExams()) {
@@ -0,0 +1,216 @@
+package com.examify.model;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import com.examify.model.entities.Exam;
+import com.examify.model.entities.Schedule;
+import com.examify.model.scheduling.SolverOptions;
+import com.examify.model.scheduling.StrategyRegistry;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Scaling benchmark for {@link ExamScheduler} on instances from
+ * {@link InstanceGenerator}. For every student count it generates a few
+ * instances with different seeds, schedules each with the solution cache
+ * off and records wall time, peak heap and whether the result was complete
+ * and conflict-free. Course, room and day counts grow with the student
+ * count in the proportions of a mid-sized university.
+ *
+ * <pre>
+ * java -cp Examify.jar com.examify.model.SchedulerBenchmark
+ *      [--sizes 1000,10000,50000] [--runs 3] [--strategy dsatur]
+ *      [--time-limit 120] [--csv results.csv] [--write-instances dir]
+ * </pre>
+ */
+public class SchedulerBenchmark {
+
+    public static final int[] DEFAULT_SIZES = {1000, 10000, 50000};
+    public static final int DEFAULT_RUNS = 3;
+    public static final long DEFAULT_TIME_LIMIT_SECONDS = 120;
+
+    public static final double COURSES_PER_STUDENT = 0.075;
+    public static final int COURSES_PER_ROOM = 10;
+    public static final int DAYS = 30;
+
+    public static class Result {
+        private final int students;
+        private final int courses;
+        private final int classrooms;
+        private final long seed;
+        private final long millis;
+        private final long peakHeapBytes;
+        private final boolean success;
+        private final String error;
+
+        public Result(int students, int courses, int classrooms, long seed, long millis, long peakHeapBytes,
+                      boolean success, String error) {
+            this.students = students;
+            this.courses = courses;
+            this.classrooms = classrooms;
+            this.seed = seed;
+            this.millis = millis;
+            this.peakHeapBytes = peakHeapBytes;
+            this.success = success;
+            this.error = error;
+        }
+
+        public int getStudents() { return students; }
+        public int getCourses() { return courses; }
+        public int getClassrooms() { return classrooms; }
+        public long getSeed() { return seed; }
+        public long getMillis() { return millis; }
+        public long getPeakHeapBytes() { return peakHeapBytes; }
+        public boolean isSuccess() { return success; }
+        public String getError() { return error; }
+    }
+
+    private int[] sizes = DEFAULT_SIZES;
+    private int runs = DEFAULT_RUNS;
+    private String strategy = StrategyRegistry.DEFAULT_STRATEGY;
+    private long timeLimitSeconds = DEFAULT_TIME_LIMIT_SECONDS;
+
+    public void setSizes(int[] sizes) { this.sizes = sizes.clone(); }
+    public void setRuns(int runs) { this.runs = Math.max(1, runs); }
+    public void setStrategy(String strategy) { this.strategy = strategy; }
+    public void setTimeLimitSeconds(long timeLimitSeconds) { this.timeLimitSeconds = timeLimitSeconds; }
+
+    /** The generator settings used for {@code students} students and the given seed. */
+    public static InstanceGenerator generatorFor(int students, long seed) {
+        InstanceGenerator generator = new InstanceGenerator();
+        int courses = Math.max(20, (int) Math.round(students * COURSES_PER_STUDENT));
+        generator.setSeed(seed);
+        generator.setStudents(students);
+        generator.setCourses(courses);
+        generator.setFaculties(Math.max(4, courses / 50));
+        generator.setClassrooms(Math.max(10, courses / COURSES_PER_ROOM));
+        generator.setDays(DAYS);
+        return generator;
+    }
+
+    public List<Result> run(PrintWriter out) {
+        List<Result> results = new ArrayList<>();
+        out.printf("%-9s %-8s %-6s %-5s %10s %12s  %s%n", "students", "courses", "rooms", "seed", "time_ms",
+                "peak_heap_mb", "result");
+        for (int students : sizes) {
+            int succeeded = 0;
+            for (int run = 0; run < runs; run++) {
+                Result result = runOnce(generatorFor(students, run + 1));
+                results.add(result);
+                if (result.isSuccess()) {
+                    succeeded++;
+                }
+                out.printf("%-9d %-8d %-6d %-5d %10d %12.1f  %s%n", result.getStudents(), result.getCourses(),
+                        result.getClassrooms(), result.getSeed(), result.getMillis(),
+                        result.getPeakHeapBytes() / (1024.0 * 1024.0),
+                        result.isSuccess() ? "ok" : result.getError());
+                out.flush();
+            }
+            out.printf("%d students: %d/%d succeeded%n", students, succeeded, runs);
+        }
+        return results;
+    }
+
+    public Result runOnce(InstanceGenerator generator) {
+        List<Course> courses = generator.generateCourses();
+        List<Classroom> classrooms = generator.generateClassrooms();
+
+        ExamScheduler scheduler = new ExamScheduler();
+        scheduler.setSolutionCache(null);
+        scheduler.setSeed(generator.getSeed());
+        scheduler.setStrategy(StrategyRegistry.create(strategy));
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        String error = null;
+        try {
+            Schedule schedule = scheduler.generateSchedule("benchmark", courses, classrooms,
+                    generator.getStartDate(), generator.getEndDate(), generator.getMinSlot(), generator.getMaxSlot(),
+                    SolverOptions.withTimeLimit(Duration.ofSeconds(timeLimitSeconds)));
+            Set<String> scheduled = new HashSet<>();
+            for (Exam exam : schedule.getExams()) {
+                scheduled.add(exam.getCourseCode());
+            }
+            if (scheduled.size() < courses.size()) {
+                error = String.format("incomplete: %d of %d courses", scheduled.size(), courses.size());
+            } else if (!scheduler.getConflicts().isEmpty()) {
+                error = scheduler.getConflicts().size() + " conflicts";
+            } else {
+                success = true;
+            }
+        } catch (SchedulingException e) {
+            error = e.getMessage();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return new Result(generator.getStudents(), courses.size(), classrooms.size(), generator.getSeed(), millis,
+                peak, success, error);
+    }
+
+    public static void writeCsv(List<Result> results, Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("students,courses,classrooms,seed,time_ms,peak_heap_bytes,success,error");
+            for (Result r : results) {
+                writer.printf("%d,%d,%d,%d,%d,%d,%b,\"%s\"%n", r.getStudents(), r.getCourses(), r.getClassrooms(),
+                        r.getSeed(), r.getMillis(), r.getPeakHeapBytes(), r.isSuccess(),
+                        r.getError() == null ? "" : r.getError().replace("\"", "\"\""));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        SchedulerBenchmark benchmark = new SchedulerBenchmark();
+        Path csv = null;
+        Path instances = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes" -> benchmark.setSizes(Arrays.stream(value.split(",")).map(String::trim)
+                        .mapToInt(Integer::parseInt).toArray());
+                case "--runs" -> benchmark.setRuns(Integer.parseInt(value));
+                case "--strategy" -> benchmark.setStrategy(value);
+                case "--time-limit" -> benchmark.setTimeLimitSeconds(Long.parseLong(value));
+                case "--csv" -> csv = Path.of(value);
+                case "--write-instances" -> instances = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (!StrategyRegistry.contains(benchmark.strategy)) {
+            throw new IllegalArgumentException("Unknown scheduling strategy: " + benchmark.strategy);
+        }
+
+        if (instances != null) {
+            for (int students : benchmark.sizes) {
+                InstanceGenerator generator = generatorFor(students, 1);
+                generator.write(instances.resolve(students + "_students"), InstanceGenerator.Format.CSV);
+            }
+        }
+
+        PrintWriter out = new PrintWriter(System.out, true);
+        List<Result> results = benchmark.run(out);
+        if (csv != null) {
+            writeCsv(results, csv);
+        }
+    }
+}
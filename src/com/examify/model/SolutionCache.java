@@ -0,0 +1,106 @@
+package com.examify.model;
+
+import com.examify.model.entities.Exam;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generated exam lists keyed by problem fingerprint, evicted least recently
+ * used first. With a database attached, entries are also written to
+ * examify.db and looked up there on a memory miss, so they survive a
+ * restart. Exams are copied on the way in and out, so callers may edit
+ * what they get back.
+ */
+public class SolutionCache {
+    private static final Logger logger = LoggerFactory.getLogger(SolutionCache.class);
+
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int DEFAULT_PERSISTED_ENTRIES = 64;
+
+    private static final SolutionCache shared = new SolutionCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<String, List<Exam>> entries;
+    private DatabaseConnection database;
+    private int persistedEntries = DEFAULT_PERSISTED_ENTRIES;
+    private long hits;
+    private long misses;
+
+    public SolutionCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Exam>> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /** The process-wide cache every {@link ExamScheduler} starts with. */
+    public static SolutionCache shared() {
+        return shared;
+    }
+
+    public synchronized void setDatabase(DatabaseConnection database) { this.database = database; }
+    public synchronized void setPersistedEntries(int persistedEntries) { this.persistedEntries = Math.max(1, persistedEntries); }
+    public int getCapacity() { return capacity; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized int size() { return entries.size(); }
+
+    public synchronized List<Exam> get(String fingerprint) {
+        List<Exam> exams = entries.get(fingerprint);
+        if (exams == null && database != null) {
+            try {
+                exams = database.loadCachedSolution(fingerprint);
+                if (exams != null) {
+                    entries.put(fingerprint, exams);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to load cached solution {}", fingerprint, e);
+            }
+        }
+        if (exams == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(exams);
+    }
+
+    public synchronized void put(String fingerprint, List<Exam> exams) {
+        List<Exam> stored = copy(exams);
+        entries.put(fingerprint, stored);
+        if (database != null) {
+            try {
+                database.saveCachedSolution(fingerprint, stored, persistedEntries);
+            } catch (Exception e) {
+                logger.warn("Failed to persist cached solution {}", fingerprint, e);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        if (database != null) {
+            try {
+                database.clearSolutionCache();
+            } catch (Exception e) {
+                logger.warn("Failed to clear persisted solutions", e);
+            }
+        }
+    }
+
+    private static List<Exam> copy(List<Exam> exams) {
+        List<Exam> copies = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            Exam copy = new Exam(exam.getCourseCode(), exam.getClassroomId(), exam.getExamDate(), exam.getSlot());
+            copy.setDuration(exam.getDuration());
+            copy.setCapacity(exam.getCapacity());
+            copy.setStudentCount(exam.getStudentCount());
+            copies.add(copy);
+        }
+        return copies;
+    }
+}
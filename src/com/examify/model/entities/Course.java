@@ -1,13 +1,16 @@
 package com.examify.model.entities;
 
 import java.time.LocalDateTime;
+import java.util.AbstractSet;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 public class Course {
     private String courseCode;
     private int studentCount;
-    private Set<String> enrolledStudents = new HashSet<>();
+    private Set<String> enrolledStudents = new EnrolledStudents(new HashSet<>());
+    private volatile CachedEnrollment enrollment;
     private LocalDateTime createdAt;
     
     public Course() {}
@@ -24,15 +27,33 @@ public class Course {
     public void setStudentCount(int studentCount) { this.studentCount = studentCount; }
     
     public Set<String> getEnrolledStudents() { return enrolledStudents; }
+    /** Keeps a copy of {@code enrolledStudents}; later changes go through {@link #getEnrolledStudents()}. */
     public void setEnrolledStudents(Set<String> enrolledStudents) { 
-        this.enrolledStudents = enrolledStudents;
+        this.enrolledStudents = new EnrolledStudents(new HashSet<>(enrolledStudents));
         this.studentCount = enrolledStudents.size();
+        this.enrollment = null;
     }
     
     public void addEnrolledStudent(String studentId) {
         this.enrolledStudents.add(studentId);
         this.studentCount = enrolledStudents.size();
     }
+
+    /**
+     * The enrolled students as a sorted array of indexes in {@code index},
+     * built on first use and kept until the students change, also through
+     * {@link #getEnrolledStudents()}, or another index is asked for.
+     */
+    public EnrollmentSet getEnrollment(StudentIndex index) {
+        CachedEnrollment cached = enrollment;
+        if (cached == null || cached.index != index) {
+            Set<String> students = enrolledStudents;
+            cached = new CachedEnrollment(index,
+                    students.isEmpty() ? EnrollmentSet.EMPTY : EnrollmentSet.of(students, index));
+            enrollment = cached;
+        }
+        return cached.enrollment;
+    }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -41,4 +62,57 @@ public class Course {
     public String toString() {
         return String.format("Course{code=%s, students=%d}", courseCode, studentCount);
     }
+
+    private record CachedEnrollment(StudentIndex index, EnrollmentSet enrollment) {}
+
+    // The student set handed out by getEnrolledStudents(); every change drops the cached enrolment.
+    private final class EnrolledStudents extends AbstractSet<String> {
+        private final Set<String> students;
+
+        EnrolledStudents(Set<String> students) {
+            this.students = students;
+        }
+
+        @Override public int size() { return students.size(); }
+        @Override public boolean contains(Object o) { return students.contains(o); }
+
+        @Override
+        public boolean add(String studentId) {
+            boolean added = students.add(studentId);
+            if (added) {
+                enrollment = null;
+            }
+            return added;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean removed = students.remove(o);
+            if (removed) {
+                enrollment = null;
+            }
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            students.clear();
+            enrollment = null;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<String> iterator = students.iterator();
+            return new Iterator<>() {
+                @Override public boolean hasNext() { return iterator.hasNext(); }
+                @Override public String next() { return iterator.next(); }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    enrollment = null;
+                }
+            };
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.examify.model.entities;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of student indexes stored as a sorted int array: four bytes
+ * per enrolment, walked in memory order instead of probed as a hash set.
+ * Pairwise overlaps are counted on {@code StudentBitmap}s built from it.
+ */
+public final class EnrollmentSet {
+
+    public static final EnrollmentSet EMPTY = new EnrollmentSet(new int[0]);
+
+    private final int[] students;
+
+    private EnrollmentSet(int[] students) {
+        this.students = students;
+    }
+
+    public static EnrollmentSet of(Collection<String> studentIds, StudentIndex index) {
+        int[] students = new int[studentIds.size()];
+        int k = 0;
+        for (String studentId : studentIds) {
+            students[k++] = index.intern(studentId);
+        }
+        return ofUnsorted(students, k);
+    }
+
+    /** Set of the first {@code length} entries of {@code students}; the array is sorted in place. */
+    public static EnrollmentSet ofUnsorted(int[] students, int length) {
+        Arrays.sort(students, 0, length);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size == 0 || students[i] != students[size - 1]) {
+                students[size++] = students[i];
+            }
+        }
+        return new EnrollmentSet(size == students.length ? students : Arrays.copyOf(students, size));
+    }
+
+    public int size() { return students.length; }
+    public boolean isEmpty() { return students.length == 0; }
+    public int get(int i) { return students[i]; }
+    public int[] toArray() { return students.clone(); }
+
+    public boolean contains(int student) {
+        return Arrays.binarySearch(students, student) >= 0;
+    }
+}
@@ -11,6 +11,7 @@ public class Exam {
     private int slot;
     private int duration = 2;
     private int capacity;
+    private int studentCount;
     
     public Exam() {}
     
@@ -46,6 +47,8 @@ public class Exam {
     public String getRoomNumber() { return classroomId; }
     public int getCapacity() { return capacity; }
     public void setCapacity(int capacity) { this.capacity = capacity; }
+    public int getStudentCount() { return studentCount; }
+    public void setStudentCount(int studentCount) { this.studentCount = studentCount; }
     public String getStudentName() { return ""; } 
     
     @Override
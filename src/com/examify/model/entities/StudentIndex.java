@@ -0,0 +1,42 @@
+package com.examify.model.entities;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns student ids to dense ints so enrolments can be stored as sorted
+ * int arrays ({@link EnrollmentSet}). Indexes are handed out in order of
+ * first sight and never reused, so arrays built against the same index can
+ * be compared directly. An index belongs to one problem model or conflict
+ * check: it holds only that run's students and is dropped with it.
+ */
+public final class StudentIndex {
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private String[] ids = new String[1024];
+
+    public synchronized int size() { return indexes.size(); }
+
+    /** Index of {@code studentId}, assigning the next free one if it is new. */
+    public synchronized int intern(String studentId) {
+        Integer index = indexes.get(studentId);
+        if (index == null) {
+            index = indexes.size();
+            if (index == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[index] = studentId;
+            indexes.put(studentId, index);
+        }
+        return index;
+    }
+
+    /** Index of {@code studentId}, or -1 if it was never interned. */
+    public synchronized int indexOf(String studentId) {
+        Integer index = indexes.get(studentId);
+        return index == null ? -1 : index;
+    }
+
+    public synchronized String idOf(int index) { return ids[index]; }
+}
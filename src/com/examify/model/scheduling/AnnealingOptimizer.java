@@ -0,0 +1,197 @@
+package com.examify.model.scheduling;
+
+import java.util.Random;
+
+/**
+ * Simulated-annealing improvement of a complete placement. Moves relocate one
+ * exam to another period and room (or just another room) and are scored
+ * incrementally by a {@link SoftConstraintScorer}.
+ */
+public class AnnealingOptimizer {
+
+    public static final double DEFAULT_ROOM_BALANCE_WEIGHT = 0.5;
+    private static final double ROOM_MOVE_PROBABILITY = 0.2;
+    private static final double FINAL_TEMPERATURE_RATIO = 1e-3;
+    private static final int SAMPLE_MOVES = 200;
+
+    private final SoftConstraintScorer.Weights weights;
+    private long iterations;
+    private double initialEnergy;
+    private double finalEnergy;
+
+    public AnnealingOptimizer() {
+        this(DEFAULT_ROOM_BALANCE_WEIGHT);
+    }
+
+    public AnnealingOptimizer(double roomBalanceWeight) {
+        SoftConstraintScorer.Weights defaults = SoftConstraintScorer.Weights.defaults();
+        this.weights = new SoftConstraintScorer.Weights(defaults.getSameDay(), defaults.getBackToBack(),
+                defaults.getNextDay(), roomBalanceWeight, defaults.getDayImbalance());
+    }
+
+    public AnnealingOptimizer(SoftConstraintScorer.Weights weights) {
+        this.weights = weights;
+    }
+
+    public long getIterations() { return iterations; }
+    public double getInitialEnergy() { return initialEnergy; }
+    public double getFinalEnergy() { return finalEnergy; }
+
+    public void optimize(ConstraintState state, long timeBudgetMillis, Random random) {
+        optimize(state, timeBudgetMillis, random, null);
+    }
+
+    public void optimize(ConstraintState state, long timeBudgetMillis, Random random, CancellationToken cancelToken) {
+        ProblemModel model = state.getModel();
+        int n = model.courseCount();
+        iterations = 0;
+        if (n < 2 || timeBudgetMillis <= 0 || !state.isComplete()) {
+            return;
+        }
+
+        SoftConstraintScorer scorer = SoftConstraintScorer.of(state, weights);
+        double energy = scorer.total();
+        initialEnergy = energy;
+
+        int[] bestPeriod = new int[n];
+        int[] bestRoom = new int[n];
+        state.snapshot(bestPeriod, bestRoom);
+        double bestEnergy = energy;
+        boolean atBest = true;
+
+        double startTemperature = estimateTemperature(state, scorer, random);
+        double temperature = startTemperature;
+        long start = System.nanoTime();
+        long budget = timeBudgetMillis * 1_000_000L;
+        long stagnationLimit = Math.max(100_000L, 200L * n);
+        long lastImprovement = 0;
+
+        while (iterations - lastImprovement < stagnationLimit) {
+            if ((iterations & 255) == 0) {
+                long elapsed = System.nanoTime() - start;
+                if (elapsed >= budget || (cancelToken != null && cancelToken.isCancelled())) {
+                    break;
+                }
+                temperature = startTemperature * Math.pow(FINAL_TEMPERATURE_RATIO, (double) elapsed / budget);
+            }
+            iterations++;
+
+            int course = random.nextInt(n);
+            if (model.isFixed(course)) {
+                continue;
+            }
+            int period = state.periodOf(course);
+            int room = state.roomOf(course);
+            int newPeriod = random.nextDouble() < ROOM_MOVE_PROBABILITY ? period : random.nextInt(model.periodCount());
+            int newRoom = pickRoom(state, course, newPeriod, random);
+            if (newRoom < 0 || (newPeriod == period && newRoom == room)) {
+                continue;
+            }
+
+            double delta = scorer.moveDelta(course, newPeriod, newRoom);
+            if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                continue;
+            }
+            if (!tryMove(state, course, newPeriod, newRoom)) {
+                continue;
+            }
+
+            if (delta > 0 && atBest) {
+                snapshot(state, bestPeriod, bestRoom, course, period, room);
+                atBest = false;
+            }
+            scorer.move(course, newPeriod, newRoom);
+            energy += delta;
+
+            if (energy < bestEnergy - 1e-9) {
+                bestEnergy = energy;
+                atBest = true;
+                lastImprovement = iterations;
+            }
+        }
+
+        if (!atBest) {
+            state.restore(bestPeriod, bestRoom);
+        }
+        finalEnergy = bestEnergy;
+    }
+
+    private int pickRoom(ConstraintState state, int course, int period, Random random) {
+        ProblemModel model = state.getModel();
+        int size = model.courseSize(course);
+        int rooms = model.roomCount();
+        int needed = model.roomClassFor(size);
+        if (needed == model.roomClassCount()) {
+            return -1;
+        }
+        int first = model.roomClassStart(needed);
+        for (int tries = 0; tries < 3; tries++) {
+            int r = first + random.nextInt(rooms - first);
+            if (state.isRoomFree(period, r)) {
+                return r;
+            }
+        }
+        for (int r = first; r < rooms; r++) {
+            if (state.isRoomFree(period, r)) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    private boolean tryMove(ConstraintState state, int course, int newPeriod, int newRoom) {
+        ProblemModel model = state.getModel();
+        int period = state.periodOf(course);
+        int room = state.roomOf(course);
+        if (newPeriod == period) {
+            state.unplace(course);
+            state.place(course, period, newRoom);
+            return true;
+        }
+        if (model.dayOf(newPeriod) != model.dayOf(period)) {
+            if (!state.isStudentAvailable(course, newPeriod)) {
+                return false;
+            }
+            state.unplace(course);
+            state.place(course, newPeriod, newRoom);
+            return true;
+        }
+        state.unplace(course);
+        if (state.isStudentAvailable(course, newPeriod)) {
+            state.place(course, newPeriod, newRoom);
+            return true;
+        }
+        state.place(course, period, room);
+        return false;
+    }
+
+    private double estimateTemperature(ConstraintState state, SoftConstraintScorer scorer, Random random) {
+        ProblemModel model = state.getModel();
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < SAMPLE_MOVES; i++) {
+            int course = random.nextInt(model.courseCount());
+            if (model.isFixed(course)) {
+                continue;
+            }
+            int period = random.nextInt(model.periodCount());
+            int room = pickRoom(state, course, period, random);
+            if (room < 0) {
+                continue;
+            }
+            double delta = scorer.moveDelta(course, period, room);
+            if (delta > 0) {
+                sum += delta;
+                count++;
+            }
+        }
+        return count == 0 ? 1.0 : sum / count;
+    }
+
+    private static void snapshot(ConstraintState state, int[] periods, int[] rooms,
+                                 int movedCourse, int oldPeriod, int oldRoom) {
+        state.snapshot(periods, rooms);
+        periods[movedCourse] = oldPeriod;
+        rooms[movedCourse] = oldRoom;
+    }
+}
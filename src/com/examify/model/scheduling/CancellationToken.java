@@ -0,0 +1,18 @@
+package com.examify.model.scheduling;
+
+/**
+ * Lets another thread (typically the UI) ask a running solve to stop. The
+ * solver notices at its next check and returns the best state reached.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
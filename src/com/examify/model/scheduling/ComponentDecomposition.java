@@ -0,0 +1,210 @@
+package com.examify.model.scheduling;
+
+import java.util.*;
+
+/**
+ * Splits a model along the connected components of its conflict graph.
+ * Courses in different components share no students, so each part can be
+ * solved as a model of its own; components are packed into at most
+ * {@code maxParts} parts of similar size. The parts only compete for rooms,
+ * which {@link #merge} settles: whole days of a part are mapped onto days of
+ * the term, optionally with their slots reversed, since neither changes any
+ * student's exams on a day. Days are taken busiest first and each goes to the
+ * least loaded free day whose rooms still fit its exams.
+ */
+public class ComponentDecomposition {
+
+    private final ProblemModel model;
+    private final List<int[]> parts;
+    private final int componentCount;
+
+    private ComponentDecomposition(ProblemModel model, List<int[]> parts, int componentCount) {
+        this.model = model;
+        this.parts = parts;
+        this.componentCount = componentCount;
+    }
+
+    public static ComponentDecomposition of(ProblemModel model, int maxParts) {
+        int n = model.courseCount();
+        for (int c = 0; c < n; c++) {
+            if (model.isFixed(c)) {
+                // Split courses hold rooms in a fixed period, which a day mapping would move.
+                return new ComponentDecomposition(model, List.of(allCourses(n)), 1);
+            }
+        }
+
+        ConflictGraph graph = model.conflictGraph();
+        List<int[]> components = new ArrayList<>();
+        boolean[] seen = new boolean[n];
+        int[] stack = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (seen[root]) {
+                continue;
+            }
+            int size = 0;
+            stack[size++] = root;
+            seen[root] = true;
+            for (int i = 0; i < size; i++) {
+                int course = stack[i];
+                for (int j = graph.neighborStart(course); j < graph.neighborEnd(course); j++) {
+                    int neighbor = graph.neighborAt(j);
+                    if (!seen[neighbor]) {
+                        seen[neighbor] = true;
+                        stack[size++] = neighbor;
+                    }
+                }
+            }
+            components.add(Arrays.copyOf(stack, size));
+        }
+        components.sort(Comparator.comparingInt((int[] component) -> component.length).reversed());
+
+        // Largest component first into the smallest part.
+        int partCount = Math.max(1, Math.min(maxParts, components.size()));
+        List<List<int[]>> bins = new ArrayList<>();
+        int[] binSize = new int[partCount];
+        for (int i = 0; i < partCount; i++) {
+            bins.add(new ArrayList<>());
+        }
+        for (int[] component : components) {
+            int smallest = 0;
+            for (int i = 1; i < partCount; i++) {
+                if (binSize[i] < binSize[smallest]) {
+                    smallest = i;
+                }
+            }
+            bins.get(smallest).add(component);
+            binSize[smallest] += component.length;
+        }
+
+        List<int[]> parts = new ArrayList<>();
+        for (int i = 0; i < partCount; i++) {
+            int[] courses = new int[binSize[i]];
+            int k = 0;
+            for (int[] component : bins.get(i)) {
+                System.arraycopy(component, 0, courses, k, component.length);
+                k += component.length;
+            }
+            // Keep the model's course order (largest first) inside each part.
+            Arrays.sort(courses);
+            parts.add(courses);
+        }
+        return new ComponentDecomposition(model, parts, components.size());
+    }
+
+    private static int[] allCourses(int n) {
+        int[] courses = new int[n];
+        for (int c = 0; c < n; c++) {
+            courses[c] = c;
+        }
+        return courses;
+    }
+
+    public int componentCount() { return componentCount; }
+    public int partCount() { return parts.size(); }
+    public int[] partCourses(int part) { return parts.get(part); }
+
+    public ProblemModel partModel(int part) {
+        return model.subModel(parts.get(part));
+    }
+
+    public ConstraintState merge(ConstraintState[] solved) {
+        return merge(solved, null);
+    }
+
+    /**
+     * Combines the parts' states into one state of the full model, with rooms
+     * assigned. Returns null if some day of a part fits no remaining day.
+     * With a warm start a part's day keeps its own date whenever that still
+     * fits, and rooms go to the exams' previous classrooms first.
+     */
+    public ConstraintState merge(ConstraintState[] solved, WarmStart warmStart) {
+        ConstraintState state = new ConstraintState(model);
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+        int days = model.dayCount();
+        int slots = model.slotsPerDay();
+        long[] dayLoad = new long[days];
+
+        for (int part = 0; part < parts.size(); part++) {
+            int[] courses = parts.get(part);
+            ConstraintState partState = solved[part];
+            List<List<Integer>> byDay = new ArrayList<>();
+            long[] partLoad = new long[days];
+            for (int d = 0; d < days; d++) {
+                byDay.add(new ArrayList<>());
+            }
+            for (int i = 0; i < courses.length; i++) {
+                if (partState.isPlaced(i)) {
+                    int day = model.dayOf(partState.periodOf(i));
+                    byDay.get(day).add(i);
+                    partLoad[day] += model.courseSize(courses[i]);
+                }
+            }
+            Integer[] order = new Integer[days];
+            for (int d = 0; d < days; d++) {
+                order[d] = d;
+            }
+            Arrays.sort(order, Comparator.comparingLong((Integer d) -> partLoad[d]).reversed());
+
+            boolean[] taken = new boolean[days];
+            for (int d : order) {
+                List<Integer> exams = byDay.get(d);
+                int bestDay = -1;
+                boolean bestReversed = false;
+                if (warmStart != null && !taken[d] && fits(plan, partState, courses, exams, d, false)) {
+                    bestDay = d;
+                }
+                for (int g = 0; g < days && (warmStart == null || bestDay != d); g++) {
+                    if (taken[g] || (bestDay >= 0 && dayLoad[g] >= dayLoad[bestDay])) {
+                        continue;
+                    }
+                    if (fits(plan, partState, courses, exams, g, false)) {
+                        bestDay = g;
+                        bestReversed = false;
+                    } else if (fits(plan, partState, courses, exams, g, true)) {
+                        bestDay = g;
+                        bestReversed = true;
+                    }
+                }
+                if (bestDay < 0) {
+                    return null;
+                }
+                taken[bestDay] = true;
+                dayLoad[bestDay] += partLoad[d];
+                for (int i : exams) {
+                    int period = mapPeriod(partState.periodOf(i), bestDay, bestReversed, slots);
+                    state.place(courses[i], period, ConstraintState.UNASSIGNED);
+                    plan.add(period, courses[i]);
+                }
+            }
+        }
+
+        plan.assignRooms(state, warmStart);
+        return state;
+    }
+
+    private boolean fits(PeriodRoomPlan plan, ConstraintState partState, int[] courses, List<Integer> exams,
+                         int day, boolean reversed) {
+        int slots = model.slotsPerDay();
+        int added = 0;
+        boolean fits = true;
+        for (int i : exams) {
+            int period = mapPeriod(partState.periodOf(i), day, reversed, slots);
+            if (!plan.canAdd(period, model.courseSize(courses[i]))) {
+                fits = false;
+                break;
+            }
+            plan.add(period, courses[i]);
+            added++;
+        }
+        for (int k = 0; k < added; k++) {
+            int i = exams.get(k);
+            plan.remove(mapPeriod(partState.periodOf(i), day, reversed, slots), courses[i]);
+        }
+        return fits;
+    }
+
+    private int mapPeriod(int partPeriod, int day, boolean reversed, int slots) {
+        int offset = model.slotOffsetOf(partPeriod);
+        return model.period(day, reversed ? slots - 1 - offset : offset);
+    }
+}
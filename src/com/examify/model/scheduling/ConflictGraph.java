@@ -0,0 +1,86 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Weighted course conflict graph in compressed sparse row form. Two courses
+ * are adjacent when they share at least one student; the edge weight is the
+ * number of shared students.
+ */
+public class ConflictGraph {
+
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] weights;
+    private final long[] weightedDegree;
+
+    private ConflictGraph(int[] offsets, int[] neighbors, int[] weights) {
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.weights = weights;
+        int n = offsets.length - 1;
+        this.weightedDegree = new long[n];
+        for (int c = 0; c < n; c++) {
+            long sum = 0;
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                sum += weights[i];
+            }
+            weightedDegree[c] = sum;
+        }
+    }
+
+    public static ConflictGraph build(ProblemModel model) {
+        int n = model.courseCount();
+        int[] shared = new int[n];
+        int[] touched = new int[n];
+        int[] offsets = new int[n + 1];
+        int[] neighbors = new int[16];
+        int[] weights = new int[16];
+        int edges = 0;
+
+        for (int c = 0; c < n; c++) {
+            int touchedCount = 0;
+            for (int s : model.courseStudents(c)) {
+                for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+                    int other = model.studentCourseAt(i);
+                    if (other == c) {
+                        continue;
+                    }
+                    if (shared[other]++ == 0) {
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+            Arrays.sort(touched, 0, touchedCount);
+            if (edges + touchedCount > neighbors.length) {
+                int size = Math.max(neighbors.length * 2, edges + touchedCount);
+                neighbors = Arrays.copyOf(neighbors, size);
+                weights = Arrays.copyOf(weights, size);
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int other = touched[i];
+                neighbors[edges] = other;
+                weights[edges] = shared[other];
+                edges++;
+                shared[other] = 0;
+            }
+            offsets[c + 1] = edges;
+        }
+
+        return new ConflictGraph(offsets, Arrays.copyOf(neighbors, edges), Arrays.copyOf(weights, edges));
+    }
+
+    public int courseCount() { return offsets.length - 1; }
+    public int degree(int course) { return offsets[course + 1] - offsets[course]; }
+    public long weightedDegree(int course) { return weightedDegree[course]; }
+
+    public int neighborStart(int course) { return offsets[course]; }
+    public int neighborEnd(int course) { return offsets[course + 1]; }
+    public int neighborAt(int index) { return neighbors[index]; }
+    public int weightAt(int index) { return weights[index]; }
+
+    public int weight(int a, int b) {
+        int i = Arrays.binarySearch(neighbors, offsets[a], offsets[a + 1], b);
+        return i >= 0 ? weights[i] : 0;
+    }
+}
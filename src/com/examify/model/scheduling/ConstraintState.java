@@ -0,0 +1,236 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Mutable placement state over a {@link ProblemModel}. Every period owns a
+ * {@code long[]} bitset of students who may not be given another exam in it
+ * ({@code forbidden}), so an availability check is a handful of word-wise ANDs
+ * against the course's precomputed student mask. The bits are derived from
+ * per-student counters (exams within the gap window of each period, exams on
+ * each day) and a bit is set while its counter blocks the student, so placing
+ * or removing a course touches only its own students. Placements made with
+ * {@link #placeReversibly} go on a trail that {@link #undoTo} rewinds. Split
+ * courses fixed by the model are placed, with their rooms reserved, as soon as
+ * the state is created and stay put. The state also counts availability
+ * checks, placements and backtracks (rewinds of the trail) for
+ * {@link SolverTelemetry}; with {@link #setTimeChecks} on, every 64th check
+ * is timed and the total check time extrapolated from the sample.
+ */
+public class ConstraintState {
+
+    public static final int UNASSIGNED = -1;
+
+    private static final int CHECK_SAMPLE_MASK = 63;
+
+    private final ProblemModel model;
+    private final long[][] forbidden;
+    private final byte[] windowCount;
+    private final byte[] dayCount;
+    private final long[][] roomBusy;
+    private final int[] coursePeriod;
+    private final int[] courseRoom;
+    private int placedCount;
+    private int[] trail = new int[64];
+    private int trailSize;
+    private long availabilityChecks;
+    private long placements;
+    private long backtracks;
+    private long checkNanos;
+    private boolean timeChecks;
+
+    public ConstraintState(ProblemModel model) {
+        this.model = model;
+        int periods = model.periodCount();
+        int words = model.wordCount();
+        int roomWords = (model.roomCount() + 63) >>> 6;
+        this.forbidden = new long[periods][words];
+        this.windowCount = new byte[model.studentCount() * periods];
+        this.dayCount = new byte[model.studentCount() * model.dayCount()];
+        this.roomBusy = new long[periods][roomWords];
+        this.coursePeriod = new int[model.courseCount()];
+        this.courseRoom = new int[model.courseCount()];
+        Arrays.fill(coursePeriod, UNASSIGNED);
+        Arrays.fill(courseRoom, UNASSIGNED);
+
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.isFixed(c)) {
+                int period = model.fixedPeriod(c);
+                place(c, period, UNASSIGNED);
+                for (int room : model.fixedRooms(c)) {
+                    roomBusy[period][room >>> 6] |= 1L << room;
+                }
+            }
+        }
+    }
+
+    public ProblemModel getModel() { return model; }
+
+    public boolean isStudentAvailable(int course, int period) {
+        if (timeChecks && (availabilityChecks & CHECK_SAMPLE_MASK) == 0) {
+            long start = System.nanoTime();
+            boolean available = studentsFree(course, period);
+            checkNanos += (System.nanoTime() - start) * (CHECK_SAMPLE_MASK + 1);
+            availabilityChecks++;
+            return available;
+        }
+        availabilityChecks++;
+        return studentsFree(course, period);
+    }
+
+    private boolean studentsFree(int course, int period) {
+        long[] blocked = forbidden[period];
+        int[] words = model.courseWords(course);
+        long[] masks = model.courseMasks(course);
+        for (int i = 0; i < words.length; i++) {
+            if ((blocked[words[i]] & masks[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isRoomFree(int period, int room) {
+        return (roomBusy[period][room >>> 6] & (1L << room)) == 0;
+    }
+
+    public void place(int course, int period, int room) {
+        int periods = model.periodCount();
+        int days = model.dayCount();
+        int day = model.dayOf(period);
+        int first = model.period(day, 0);
+        int from = first + Math.max(0, model.slotOffsetOf(period) - model.minGapBetweenExams());
+        int to = first + Math.min(model.slotsPerDay() - 1, model.slotOffsetOf(period) + model.minGapBetweenExams());
+        int limit = model.maxExamsPerDay();
+
+        for (int s : model.courseStudents(course)) {
+            int w = s >>> 6;
+            long bit = 1L << s;
+            int base = s * periods;
+            for (int p = from; p <= to; p++) {
+                if (windowCount[base + p]++ == 0) {
+                    forbidden[p][w] |= bit;
+                }
+            }
+            if (++dayCount[s * days + day] == limit) {
+                for (int p = first; p < first + model.slotsPerDay(); p++) {
+                    forbidden[p][w] |= bit;
+                }
+            }
+        }
+
+        coursePeriod[course] = period;
+        placedCount++;
+        placements++;
+        assignRoom(course, room);
+    }
+
+    public void placeReversibly(int course, int period, int room) {
+        place(course, period, room);
+        if (trailSize == trail.length) {
+            trail = Arrays.copyOf(trail, trailSize * 2);
+        }
+        trail[trailSize++] = course;
+    }
+
+    public int mark() {
+        return trailSize;
+    }
+
+    public void undoTo(int mark) {
+        if (trailSize > mark) {
+            backtracks++;
+        }
+        while (trailSize > mark) {
+            unplace(trail[--trailSize]);
+        }
+    }
+
+    public void assignRoom(int course, int room) {
+        if (room == UNASSIGNED) {
+            return;
+        }
+        roomBusy[coursePeriod[course]][room >>> 6] |= 1L << room;
+        courseRoom[course] = room;
+    }
+
+    public void unplace(int course) {
+        int period = coursePeriod[course];
+        if (period == UNASSIGNED || model.isFixed(course)) {
+            return;
+        }
+        int room = courseRoom[course];
+
+        int periods = model.periodCount();
+        int days = model.dayCount();
+        int day = model.dayOf(period);
+        int first = model.period(day, 0);
+        int last = first + model.slotsPerDay() - 1;
+        int from = first + Math.max(0, model.slotOffsetOf(period) - model.minGapBetweenExams());
+        int to = first + Math.min(model.slotsPerDay() - 1, model.slotOffsetOf(period) + model.minGapBetweenExams());
+        int limit = model.maxExamsPerDay();
+
+        for (int s : model.courseStudents(course)) {
+            int w = s >>> 6;
+            long bit = 1L << s;
+            int base = s * periods;
+            boolean dayBlocked = dayCount[s * days + day]-- >= limit;
+            boolean stillBlocked = dayCount[s * days + day] >= limit;
+            if (stillBlocked) {
+                for (int p = from; p <= to; p++) {
+                    windowCount[base + p]--;
+                }
+            } else if (dayBlocked) {
+                for (int p = from; p <= to; p++) {
+                    windowCount[base + p]--;
+                }
+                for (int p = first; p <= last; p++) {
+                    if (windowCount[base + p] == 0) {
+                        forbidden[p][w] &= ~bit;
+                    }
+                }
+            } else {
+                for (int p = from; p <= to; p++) {
+                    if (--windowCount[base + p] == 0) {
+                        forbidden[p][w] &= ~bit;
+                    }
+                }
+            }
+        }
+
+        if (room != UNASSIGNED) {
+            roomBusy[period][room >>> 6] &= ~(1L << room);
+        }
+        coursePeriod[course] = UNASSIGNED;
+        courseRoom[course] = UNASSIGNED;
+        placedCount--;
+    }
+
+    public void setTimeChecks(boolean timeChecks) { this.timeChecks = timeChecks; }
+    public long getAvailabilityChecks() { return availabilityChecks; }
+    public long getPlacements() { return placements; }
+    public long getBacktracks() { return backtracks; }
+    public long getCheckNanos() { return checkNanos; }
+
+    public int periodOf(int course) { return coursePeriod[course]; }
+    public int roomOf(int course) { return courseRoom[course]; }
+    public boolean isPlaced(int course) { return coursePeriod[course] != UNASSIGNED; }
+    public int placedCount() { return placedCount; }
+    public boolean isComplete() { return placedCount == model.courseCount(); }
+
+    public void snapshot(int[] periods, int[] rooms) {
+        System.arraycopy(coursePeriod, 0, periods, 0, periods.length);
+        System.arraycopy(courseRoom, 0, rooms, 0, rooms.length);
+    }
+
+    public void restore(int[] periods, int[] rooms) {
+        for (int c = 0; c < coursePeriod.length; c++) {
+            unplace(c);
+        }
+        for (int c = 0; c < coursePeriod.length; c++) {
+            if (periods[c] != UNASSIGNED && !model.isFixed(c)) {
+                place(c, periods[c], rooms[c]);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+
+/**
+ * Graph-colouring scheduler. Courses are coloured with periods in DSatur
+ * order: the course with the most periods already blocked by placed
+ * neighbours goes next, ties broken by the shared-student weight to still
+ * unplaced neighbours and then by size. Rooms are assigned per period once
+ * every course has a period. Retries break the remaining ties randomly.
+ */
+public class DSaturStrategy implements SchedulingStrategy {
+
+    @Override
+    public String getName() {
+        return StrategyRegistry.DSATUR;
+    }
+
+    @Override
+    public ConstraintState solve(ProblemModel model, SolverContext context) throws SchedulingException {
+        ConflictGraph graph = model.conflictGraph();
+        ConstraintState state = context.newState(model);
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+
+        int n = model.courseCount();
+        int days = model.dayCount();
+        int slotsPerDay = model.slotsPerDay();
+        int[] saturation = new int[n];
+        long[] openWeight = new long[n];
+        int[][] blockedPerDay = new int[n][days];
+        int[] tieBreak = new int[n];
+        for (int c = 0; c < n; c++) {
+            openWeight[c] = graph.weightedDegree(c);
+            tieBreak[c] = context.getAttempt() > 0 ? context.getRandom().nextInt() : -c;
+        }
+
+        while (!state.isComplete()) {
+            if (context.isCancelled()) {
+                break;
+            }
+            context.reportProgress(state.placedCount(), n, 0);
+            int course = selectNext(model, state, saturation, openWeight, tieBreak);
+            int size = model.courseSize(course);
+
+            int period = -1;
+            for (int rank = 0; rank < model.periodCount(); rank++) {
+                int p = context.periodAt(course, rank);
+                if (state.isStudentAvailable(course, p) && plan.canAdd(p, size)) {
+                    period = p;
+                    break;
+                }
+            }
+            if (period < 0) {
+                throw new SchedulingException(
+                        String.format("Cannot place course %s (students: %d).",
+                                model.course(course).getCourseCode(), size));
+            }
+
+            state.place(course, period, ConstraintState.UNASSIGNED);
+            plan.add(period, course);
+
+            int day = model.dayOf(period);
+            int first = model.period(day, 0);
+            for (int i = graph.neighborStart(course); i < graph.neighborEnd(course); i++) {
+                int neighbor = graph.neighborAt(i);
+                if (state.isPlaced(neighbor)) {
+                    continue;
+                }
+                openWeight[neighbor] -= graph.weightAt(i);
+
+                int blocked = 0;
+                for (int k = 0; k < slotsPerDay; k++) {
+                    if (!state.isStudentAvailable(neighbor, first + k)) {
+                        blocked++;
+                    }
+                }
+                saturation[neighbor] += blocked - blockedPerDay[neighbor][day];
+                blockedPerDay[neighbor][day] = blocked;
+            }
+        }
+
+        plan.assignRooms(state, context.getWarmStart());
+        return state;
+    }
+
+    private int selectNext(ProblemModel model, ConstraintState state, int[] saturation, long[] openWeight,
+                           int[] tieBreak) {
+        int best = -1;
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (state.isPlaced(c)) {
+                continue;
+            }
+            if (best < 0 || compare(model, c, best, saturation, openWeight, tieBreak) > 0) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private int compare(ProblemModel model, int a, int b, int[] saturation, long[] openWeight, int[] tieBreak) {
+        int cmp = Integer.compare(saturation[a], saturation[b]);
+        if (cmp != 0) return cmp;
+        cmp = Long.compare(openWeight[a], openWeight[b]);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compare(model.courseSize(a), model.courseSize(b));
+        if (cmp != 0) return cmp;
+        return Integer.compare(tieBreak[a], tieBreak[b]);
+    }
+}
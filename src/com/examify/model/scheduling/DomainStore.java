@@ -0,0 +1,87 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Per-course bitsets of still-feasible periods with an undo trail. Every
+ * removal is recorded so a search can return to any earlier {@link #mark()}
+ * in time proportional to the removals made since.
+ */
+public class DomainStore {
+
+    private final long[][] domains;
+    private final int[] sizes;
+    private int[] trailCourse = new int[256];
+    private int[] trailPeriod = new int[256];
+    private int trailSize;
+
+    public DomainStore(int courses, int periods) {
+        int words = (periods + 63) >>> 6;
+        this.domains = new long[courses][words];
+        this.sizes = new int[courses];
+        for (int c = 0; c < courses; c++) {
+            for (int p = 0; p < periods; p++) {
+                domains[c][p >>> 6] |= 1L << p;
+            }
+            sizes[c] = periods;
+        }
+    }
+
+    public boolean contains(int course, int period) {
+        return (domains[course][period >>> 6] & (1L << period)) != 0;
+    }
+
+    public int size(int course) {
+        return sizes[course];
+    }
+
+    public boolean remove(int course, int period) {
+        long bit = 1L << period;
+        long[] domain = domains[course];
+        if ((domain[period >>> 6] & bit) == 0) {
+            return false;
+        }
+        domain[period >>> 6] &= ~bit;
+        sizes[course]--;
+        if (trailSize == trailCourse.length) {
+            trailCourse = Arrays.copyOf(trailCourse, trailSize * 2);
+            trailPeriod = Arrays.copyOf(trailPeriod, trailSize * 2);
+        }
+        trailCourse[trailSize] = course;
+        trailPeriod[trailSize] = period;
+        trailSize++;
+        return true;
+    }
+
+    public int nextPeriod(int course, int from) {
+        long[] domain = domains[course];
+        int w = from >>> 6;
+        if (w >= domain.length) {
+            return -1;
+        }
+        long word = domain[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == domain.length) {
+                return -1;
+            }
+            word = domain[w];
+        }
+    }
+
+    public int mark() {
+        return trailSize;
+    }
+
+    public void undoTo(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            int course = trailCourse[trailSize];
+            int period = trailPeriod[trailSize];
+            domains[course][period >>> 6] |= 1L << period;
+            sizes[course]++;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Course;
+import com.examify.model.entities.EnrollmentSet;
+import com.examify.model.entities.StudentIndex;
+import java.util.*;
+
+/**
+ * Shared-student counts between pairs of courses, computed on demand from
+ * {@link StudentBitmap}s of their enrolments and remembered. The memo is an open-addressing
+ * table keyed by the packed course pair, so repeated lookups neither
+ * allocate nor intersect again. Enrolments are read once, when the view is
+ * built; build a new one after they change.
+ */
+public class EnrollmentOverlaps {
+
+    private static final long EMPTY = -1L;
+
+    private final List<Course> courses;
+    private final StudentIndex studentIndex;
+    private final Map<String, Integer> courseIndex;
+    private final EnrollmentSet[] enrollments;
+    private final StudentBitmap[] bitmaps;
+    private long[] keys = new long[256];
+    private int[] values = new int[256];
+    private int cached;
+
+    public EnrollmentOverlaps(List<Course> courses) {
+        this(courses, new StudentIndex());
+    }
+
+    /** Overlaps with enrolments numbered by {@code studentIndex}, e.g. the one of the problem model. */
+    public EnrollmentOverlaps(List<Course> courses, StudentIndex studentIndex) {
+        this.courses = List.copyOf(courses);
+        this.studentIndex = studentIndex;
+        this.courseIndex = new HashMap<>();
+        this.enrollments = new EnrollmentSet[this.courses.size()];
+        this.bitmaps = new StudentBitmap[this.courses.size()];
+        for (int c = 0; c < enrollments.length; c++) {
+            Course course = this.courses.get(c);
+            courseIndex.putIfAbsent(course.getCourseCode(), c);
+            enrollments[c] = course.getEnrollment(studentIndex);
+            bitmaps[c] = StudentBitmap.of(enrollments[c]);
+        }
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int courseCount() { return enrollments.length; }
+    public StudentIndex studentIndex() { return studentIndex; }
+    public Course course(int c) { return courses.get(c); }
+    public EnrollmentSet enrollment(int c) { return enrollments[c]; }
+    public StudentBitmap bitmap(int c) { return bitmaps[c]; }
+    public int cachedPairs() { return cached; }
+
+    public int indexOf(String courseCode) {
+        Integer index = courseIndex.get(courseCode);
+        return index == null ? -1 : index;
+    }
+
+    /** Number of students enrolled in both courses. */
+    public int overlap(int a, int b) {
+        if (a == b) {
+            return enrollments[a].size();
+        }
+        long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int overlap = bitmaps[a].andCardinality(bitmaps[b]);
+        keys[slot] = key;
+        values[slot] = overlap;
+        if (++cached * 2 > keys.length) {
+            grow();
+        }
+        return overlap;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
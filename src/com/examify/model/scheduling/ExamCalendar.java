@@ -0,0 +1,64 @@
+package com.examify.model.scheduling;
+
+import com.examify.utils.DateUtils;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * The exam days of a term in order. Day index {@code d} is the d-th date
+ * between the start and end date, inclusive, that is neither a skipped
+ * weekend ({@link DateUtils#isWeekend}) nor a holiday. The solver only sees
+ * day indexes; dates are looked up when exams are produced or read back.
+ */
+public final class ExamCalendar {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate[] days;
+    private final int[] dayByOffset;
+
+    private ExamCalendar(LocalDate startDate, LocalDate endDate, boolean excludeWeekends,
+                         Collection<LocalDate> holidays) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        int span = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        Set<LocalDate> skipped = holidays == null ? Set.of() : new HashSet<>(holidays);
+        List<LocalDate> examDays = new ArrayList<>(span);
+        this.dayByOffset = new int[span];
+        for (int offset = 0; offset < span; offset++) {
+            LocalDate date = startDate.plusDays(offset);
+            if ((excludeWeekends && DateUtils.isWeekend(date)) || skipped.contains(date)) {
+                dayByOffset[offset] = -1;
+            } else {
+                dayByOffset[offset] = examDays.size();
+                examDays.add(date);
+            }
+        }
+        this.days = examDays.toArray(new LocalDate[0]);
+    }
+
+    /** Every date from start to end is an exam day. */
+    public static ExamCalendar continuous(LocalDate startDate, LocalDate endDate) {
+        return new ExamCalendar(startDate, endDate, false, null);
+    }
+
+    public static ExamCalendar of(LocalDate startDate, LocalDate endDate, boolean excludeWeekends,
+                                  Collection<LocalDate> holidays) {
+        return new ExamCalendar(startDate, endDate, excludeWeekends, holidays);
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public int dayCount() { return days.length; }
+    public LocalDate dateOf(int day) { return days[day]; }
+
+    /** Day index of {@code date}, or -1 if it is outside the term or not an exam day. */
+    public int dayOf(LocalDate date) {
+        if (date == null) {
+            return -1;
+        }
+        long offset = ChronoUnit.DAYS.between(startDate, date);
+        return offset < 0 || offset >= dayByOffset.length ? -1 : dayByOffset[(int) offset];
+    }
+}
@@ -0,0 +1,147 @@
+package com.examify.model.scheduling;
+
+import java.util.*;
+
+/**
+ * Necessary conditions checked before any search starts. Each check is a
+ * lower bound, so a reported problem means no schedule exists; passing all of
+ * them does not guarantee one does.
+ */
+public class FeasibilityAnalyzer {
+
+    private static final int CLIQUE_SEEDS = 32;
+    private static final int MAX_NAMED = 10;
+
+    private int cliqueLowerBound;
+    private List<String> largestClique = new ArrayList<>();
+
+    public int getCliqueLowerBound() { return cliqueLowerBound; }
+    public List<String> getLargestClique() { return new ArrayList<>(largestClique); }
+
+    public List<String> analyze(ProblemModel model) {
+        List<String> problems = new ArrayList<>();
+        int examsPerDay = Math.min(model.maxExamsPerDay(), separatedSlots(model));
+        checkStudentLoad(model, examsPerDay, problems);
+        checkCliques(model, problems);
+        checkRoomCapacity(model, problems);
+        return problems;
+    }
+
+    // Slots a student can use on one day when exams must be more than minGap slots apart.
+    private static int separatedSlots(ProblemModel model) {
+        int step = model.minGapBetweenExams() + 1;
+        return (model.slotsPerDay() + step - 1) / step;
+    }
+
+    private void checkStudentLoad(ProblemModel model, int examsPerDay, List<String> problems) {
+        long limit = (long) examsPerDay * model.dayCount();
+        List<String> offenders = new ArrayList<>();
+        int worst = 0;
+        for (int s = 0; s < model.studentCount(); s++) {
+            int exams = model.studentCourseEnd(s) - model.studentCourseStart(s);
+            if (exams > limit) {
+                offenders.add(model.studentId(s));
+                worst = Math.max(worst, exams);
+            }
+        }
+        if (!offenders.isEmpty()) {
+            problems.add(String.format("%d students have more exams than fit in %d days at %d per day "
+                            + "(limit %d, worst %d): %s",
+                    offenders.size(), model.dayCount(), examsPerDay, limit, worst, name(offenders)));
+        }
+    }
+
+    private void checkCliques(ProblemModel model, List<String> problems) {
+        ConflictGraph graph = model.conflictGraph();
+        int n = model.courseCount();
+        Integer[] byDegree = new Integer[n];
+        for (int c = 0; c < n; c++) {
+            byDegree[c] = c;
+        }
+        Arrays.sort(byDegree, Comparator.comparingInt((Integer c) -> graph.degree(c)).reversed());
+
+        int[] best = new int[0];
+        for (int i = 0; i < Math.min(CLIQUE_SEEDS, n); i++) {
+            int[] clique = growClique(graph, byDegree[i]);
+            if (clique.length > best.length) {
+                best = clique;
+            }
+        }
+
+        cliqueLowerBound = best.length;
+        largestClique = new ArrayList<>();
+        for (int c : best) {
+            largestClique.add(model.course(c).getCourseCode());
+        }
+
+        // Every pair in a clique shares a student, so they need separated slots.
+        long available = (long) separatedSlots(model) * model.dayCount();
+        if (best.length > available) {
+            problems.add(String.format("%d courses pairwise share students and need separate slots, "
+                            + "but only %d fit in %d days: %s",
+                    best.length, available, model.dayCount(), name(largestClique)));
+        }
+    }
+
+    private static int[] growClique(ConflictGraph graph, int seed) {
+        int degree = graph.degree(seed);
+        Integer[] candidates = new Integer[degree];
+        for (int i = 0; i < degree; i++) {
+            candidates[i] = graph.neighborAt(graph.neighborStart(seed) + i);
+        }
+        Arrays.sort(candidates, Comparator.comparingInt((Integer c) -> graph.degree(c)).reversed());
+
+        int[] clique = new int[degree + 1];
+        int size = 0;
+        clique[size++] = seed;
+        for (int candidate : candidates) {
+            boolean adjacent = true;
+            for (int j = 1; j < size && adjacent; j++) {
+                adjacent = graph.weight(candidate, clique[j]) > 0;
+            }
+            if (adjacent) {
+                clique[size++] = candidate;
+            }
+        }
+        return Arrays.copyOf(clique, size);
+    }
+
+    // The k largest exams each need a room at least their size in some period: for every
+    // size s, exams of size >= s must not outnumber periods * rooms of capacity >= s.
+    private void checkRoomCapacity(ProblemModel model, List<String> problems) {
+        List<Integer> courses = new ArrayList<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (!model.isFixed(c)) {
+                courses.add(c);
+            }
+        }
+        courses.sort(Comparator.comparingInt((Integer c) -> model.courseSize(c)).reversed());
+
+        int rooms = model.roomCount();
+        long periods = model.periodCount();
+        int fitting = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            int size = model.courseSize(courses.get(i));
+            while (fitting < rooms && model.roomCapacity(rooms - 1 - fitting) >= size) {
+                fitting++;
+            }
+            if (i + 1 > periods * fitting) {
+                List<String> offenders = new ArrayList<>();
+                for (int j = 0; j <= i; j++) {
+                    offenders.add(model.course(courses.get(j)).getCourseCode());
+                }
+                problems.add(String.format("%d courses need a room with at least %d seats, but %d such rooms "
+                                + "over %d periods give only %d exam slots: %s",
+                        i + 1, size, fitting, periods, periods * fitting, name(offenders)));
+                return;
+            }
+        }
+    }
+
+    private static String name(List<String> items) {
+        if (items.size() <= MAX_NAMED) {
+            return String.join(", ", items);
+        }
+        return String.join(", ", items.subList(0, MAX_NAMED)) + String.format(" and %d more", items.size() - MAX_NAMED);
+    }
+}
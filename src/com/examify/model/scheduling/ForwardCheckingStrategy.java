@@ -0,0 +1,219 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+
+/**
+ * Depth-first search with forward checking. Every unplaced course keeps a
+ * domain of feasible periods; placing a course prunes the periods of its
+ * conflict-graph neighbours on the same day. An emptied domain fails the
+ * placement at once and a domain reduced to one period forces that
+ * placement. Courses are chosen smallest-domain first, ties going to the
+ * larger degree, then the larger course, then course order on the first
+ * attempt and a random order on retries. Rooms are assigned per period at the
+ * end, or to the deepest placement reached when the run is cancelled.
+ */
+public class ForwardCheckingStrategy implements SchedulingStrategy {
+
+    public static final int BACKTRACKS_PER_COURSE = 50;
+
+    @Override
+    public String getName() {
+        return StrategyRegistry.FORWARD_CHECKING;
+    }
+
+    @Override
+    public ConstraintState solve(ProblemModel model, SolverContext context) throws SchedulingException {
+        return new Search(model, context).run();
+    }
+
+    // The state of one solve, so a strategy instance can be shared between threads.
+    private static final class Search {
+        private final ProblemModel model;
+        private final SolverContext context;
+        private final ConflictGraph graph;
+        private final ConstraintState state;
+        private final PeriodRoomPlan plan;
+        private final DomainStore domains;
+        private final int[] placedStack;
+        private final int[] pending;
+        private final int[] tieBreak;
+        private int placedCount;
+
+        Search(ProblemModel model, SolverContext context) {
+            int n = model.courseCount();
+            this.model = model;
+            this.context = context;
+            this.graph = model.conflictGraph();
+            this.state = context.newState(model);
+            this.plan = new PeriodRoomPlan(model);
+            this.domains = new DomainStore(n, model.periodCount());
+            this.placedStack = new int[n];
+            this.pending = new int[n];
+            this.tieBreak = new int[n];
+            for (int c = 0; c < n; c++) {
+                tieBreak[c] = context.getAttempt() > 0 ? context.getRandom().nextInt() : -c;
+            }
+        }
+
+        ConstraintState run() throws SchedulingException {
+            int n = model.courseCount();
+            int[] decisionCourse = new int[n];
+            int[] decisionRank = new int[n];
+            int[] decisionTrail = new int[n];
+            int[] decisionPlaced = new int[n];
+            int depth = 0;
+            long backtracks = 0;
+            long backtrackLimit = Math.max(1000L, (long) BACKTRACKS_PER_COURSE * n);
+
+            int[] bestPeriod = new int[n];
+            int[] bestRoom = new int[n];
+            int bestPlaced = 0;
+
+            int course = selectNext();
+            int from = 0;
+            while (course >= 0) {
+                if (context.isCancelled()) {
+                    if (bestPlaced > placedCount) {
+                        undoTo(0, 0);
+                        for (int c = 0; c < n; c++) {
+                            if (bestPeriod[c] != ConstraintState.UNASSIGNED && !model.isFixed(c)) {
+                                place(c, bestPeriod[c]);
+                            }
+                        }
+                    }
+                    plan.assignRooms(state, context.getWarmStart());
+                    return state;
+                }
+                context.reportProgress(state.placedCount(), n, backtracks);
+
+                int trailMark = domains.mark();
+                int placedMark = placedCount;
+                int chosen = -1;
+                for (int rank = from; rank < model.periodCount(); rank++) {
+                    int p = context.periodAt(course, rank);
+                    if (!domains.contains(course, p) || !plan.canAdd(p, model.courseSize(course))
+                            || !state.isStudentAvailable(course, p)) {
+                        continue;
+                    }
+                    if (assignAndPropagate(course, p)) {
+                        chosen = rank;
+                        break;
+                    }
+                    undoTo(trailMark, placedMark);
+                }
+
+                if (chosen >= 0) {
+                    decisionCourse[depth] = course;
+                    decisionRank[depth] = chosen;
+                    decisionTrail[depth] = trailMark;
+                    decisionPlaced[depth] = placedMark;
+                    depth++;
+                    course = selectNext();
+                    from = 0;
+                    continue;
+                }
+
+                if (placedCount > bestPlaced) {
+                    state.snapshot(bestPeriod, bestRoom);
+                    bestPlaced = placedCount;
+                }
+                if (depth == 0) {
+                    throw new SchedulingException(
+                            String.format("Cannot place course %s (students: %d): no period can take it.",
+                                    model.course(course).getCourseCode(), model.courseSize(course)));
+                }
+                if (++backtracks > backtrackLimit) {
+                    throw new SchedulingException(
+                            String.format("Cannot place course %s (students: %d) after %d backtracks.",
+                                    model.course(course).getCourseCode(), model.courseSize(course), backtracks - 1));
+                }
+                depth--;
+                course = decisionCourse[depth];
+                from = decisionRank[depth] + 1;
+                undoTo(decisionTrail[depth], decisionPlaced[depth]);
+            }
+
+            plan.assignRooms(state, context.getWarmStart());
+            return state;
+        }
+
+        private boolean assignAndPropagate(int course, int period) {
+            int pendingCount = 0;
+            place(course, period);
+            pending[pendingCount++] = course;
+
+            while (pendingCount > 0) {
+                int placed = pending[--pendingCount];
+                int day = model.dayOf(state.periodOf(placed));
+                int first = model.period(day, 0);
+
+                for (int i = graph.neighborStart(placed); i < graph.neighborEnd(placed); i++) {
+                    int neighbor = graph.neighborAt(i);
+                    if (state.isPlaced(neighbor)) {
+                        continue;
+                    }
+                    for (int k = 0; k < model.slotsPerDay(); k++) {
+                        int p = first + k;
+                        if (domains.contains(neighbor, p) && !state.isStudentAvailable(neighbor, p)) {
+                            domains.remove(neighbor, p);
+                        }
+                    }
+                    int size = domains.size(neighbor);
+                    if (size == 0) {
+                        return false;
+                    }
+                    if (size == 1) {
+                        int only = domains.nextPeriod(neighbor, 0);
+                        if (!plan.canAdd(only, model.courseSize(neighbor)) || !state.isStudentAvailable(neighbor, only)) {
+                            return false;
+                        }
+                        place(neighbor, only);
+                        pending[pendingCount++] = neighbor;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void place(int course, int period) {
+            state.placeReversibly(course, period, ConstraintState.UNASSIGNED);
+            plan.add(period, course);
+            placedStack[placedCount++] = course;
+        }
+
+        private void undoTo(int trailMark, int placedMark) {
+            while (placedCount > placedMark) {
+                int course = placedStack[--placedCount];
+                plan.remove(state.periodOf(course), course);
+            }
+            state.undoTo(placedMark);
+            domains.undoTo(trailMark);
+        }
+
+        private int selectNext() {
+            int best = -1;
+            for (int c = 0; c < model.courseCount(); c++) {
+                if (state.isPlaced(c)) {
+                    continue;
+                }
+                if (best < 0 || isBetter(c, best)) {
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        private boolean isBetter(int c, int best) {
+            if (domains.size(c) != domains.size(best)) {
+                return domains.size(c) < domains.size(best);
+            }
+            if (graph.degree(c) != graph.degree(best)) {
+                return graph.degree(c) > graph.degree(best);
+            }
+            if (model.courseSize(c) != model.courseSize(best)) {
+                return model.courseSize(c) > model.courseSize(best);
+            }
+            return tieBreak[c] > tieBreak[best];
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import java.util.*;
+
+/**
+ * First-fit placement in course order: the first period with all students
+ * available whose exams, this one included, can still be matched to rooms.
+ * Rooms are handed out per period at the end by best-fit decreasing, so a
+ * small exam never holds a large hall that a later course needs. Dead ends are handled by
+ * conflict-directed backjumping: the failed course's conflict set holds the
+ * levels whose placements block it (same-day neighbours for student
+ * conflicts, the other exams of a full period for capacity), and the search jumps
+ * straight back to the most recent of them, rewinding the state's trail
+ * of placements in between. An empty conflict set leaves no level to jump
+ * back to and fails the attempt; it is no proof of infeasibility, since split
+ * courses were fixed to their periods heuristically. A cancelled run returns the deepest placement it reached.
+ * <p>
+ * With dynamic ordering the next course is not taken from a fixed list but
+ * from an {@link IndexedHeap} ranked by the periods its students still have
+ * free, then the shared-student weight to still unplaced neighbours, then
+ * size. A placement or an undo re-ranks only
+ * the conflict-graph neighbours whose free periods on that day changed. The
+ * course at each level is remembered, so a backjump retries the same course
+ * and only the levels above it are chosen afresh.
+ */
+public class GreedyStrategy implements SchedulingStrategy {
+
+    public static final int BACKJUMPS_PER_COURSE = 50;
+
+    private final boolean dynamicOrder;
+
+    public GreedyStrategy() {
+        this(false);
+    }
+
+    public GreedyStrategy(boolean dynamicOrder) {
+        this.dynamicOrder = dynamicOrder;
+    }
+
+    @Override
+    public String getName() {
+        return dynamicOrder ? StrategyRegistry.GREEDY_DYNAMIC : StrategyRegistry.GREEDY;
+    }
+
+    @Override
+    public ConstraintState solve(ProblemModel model, SolverContext context) throws SchedulingException {
+        ConstraintState state = context.newState(model);
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+        ConflictGraph graph = model.conflictGraph();
+        int n = model.courseCount();
+
+        List<Integer> courses = new ArrayList<>();
+        for (int c = 0; c < n; c++) {
+            if (!state.isPlaced(c)) {
+                courses.add(c);
+            }
+        }
+        int m = courses.size();
+        if (context.getAttempt() > 0) {
+            Collections.shuffle(courses, context.getRandom());
+        }
+        SaturationOrder order = dynamicOrder ? new SaturationOrder(state, courses) : null;
+        int[] courseAt = new int[m];
+        for (int i = 0; i < m; i++) {
+            courseAt[i] = order != null ? -1 : courses.get(i);
+        }
+
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        int[] levelRank = new int[n];
+        int[] levelMark = new int[n];
+        BitSet[] conflictSets = new BitSet[n];
+
+        int[] bestPeriod = new int[n];
+        int[] bestRoom = new int[n];
+        int bestPlaced = 0;
+
+        long backjumps = 0;
+        long backjumpLimit = Math.max(1000L, (long) BACKJUMPS_PER_COURSE * n);
+        int startRank = 0;
+
+        for (int i = 0; i < m; ) {
+            if (context.isCancelled()) {
+                if (bestPlaced > state.placedCount()) {
+                    state.restore(bestPeriod, bestRoom);
+                    plan = PeriodRoomPlan.of(state);
+                }
+                plan.assignRooms(state, context.getWarmStart());
+                return state;
+            }
+            context.reportProgress(state.placedCount(), n, backjumps);
+            if (courseAt[i] < 0) {
+                courseAt[i] = order.next();
+            }
+            int course = courseAt[i];
+            if (conflictSets[i] == null) {
+                conflictSets[i] = new BitSet();
+            }
+
+            int rank = findRank(state, plan, context, course, startRank);
+            if (rank >= 0) {
+                int period = context.periodAt(course, rank);
+                levelMark[i] = state.mark();
+                state.placeReversibly(course, period, ConstraintState.UNASSIGNED);
+                plan.add(period, course);
+                level[course] = i;
+                levelRank[i] = rank;
+                if (order != null) {
+                    order.changed(course, period, true);
+                }
+                i++;
+                if (i < m && conflictSets[i] != null) {
+                    conflictSets[i].clear();
+                }
+                startRank = 0;
+                continue;
+            }
+
+            if (state.placedCount() > bestPlaced) {
+                state.snapshot(bestPeriod, bestRoom);
+                bestPlaced = state.placedCount();
+            }
+            BitSet conflictSet = conflictSets[i];
+            collectCulprits(state, plan, graph, course, level, conflictSet);
+            if (conflictSet.isEmpty()) {
+                throw new SchedulingException(
+                        String.format("Cannot place course %s (students: %d): no period can take it.",
+                                model.course(course).getCourseCode(), model.courseSize(course)));
+            }
+            if (++backjumps > backjumpLimit) {
+                throw new SchedulingException(
+                        String.format("Cannot place course %s (students: %d) after %d backjumps.",
+                                model.course(course).getCourseCode(), model.courseSize(course), backjumps - 1));
+            }
+
+            int target = conflictSet.length() - 1;
+            for (int j = i - 1; j >= target; j--) {
+                int undone = courseAt[j];
+                int period = state.periodOf(undone);
+                plan.remove(period, undone);
+                level[undone] = -1;
+                if (j > target) {
+                    conflictSets[j].clear();
+                }
+                if (order != null) {
+                    // Latest first, so a course gives weight back only to the neighbours that were
+                    // unplaced when it was placed.
+                    state.undoTo(levelMark[j]);
+                    order.changed(undone, period, false);
+                }
+            }
+            state.undoTo(levelMark[target]);
+            if (order != null) {
+                // Levels above the target pick their course again; the target retries its own.
+                for (int j = target + 1; j <= i; j++) {
+                    order.requeue(courseAt[j]);
+                    courseAt[j] = -1;
+                }
+            }
+            conflictSet.clear(target);
+            conflictSets[target].or(conflictSet);
+            conflictSet.clear();
+
+            i = target;
+            startRank = levelRank[target] + 1;
+        }
+
+        plan.assignRooms(state, context.getWarmStart());
+        return state;
+    }
+
+    // Periods are tried in the context's order; the rank is what a backjump resumes from.
+    private int findRank(ConstraintState state, PeriodRoomPlan plan, SolverContext context, int course,
+                         int startRank) {
+        ProblemModel model = state.getModel();
+        int size = model.courseSize(course);
+        for (int rank = startRank; rank < model.periodCount(); rank++) {
+            int period = context.periodAt(course, rank);
+            if (state.isStudentAvailable(course, period) && plan.canAdd(period, size)) {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    private void collectCulprits(ConstraintState state, PeriodRoomPlan plan, ConflictGraph graph, int course,
+                                 int[] level, BitSet conflictSet) {
+        ProblemModel model = state.getModel();
+        int days = model.dayCount();
+        int gap = model.minGapBetweenExams();
+
+        // Culprit levels are -1 for split courses the model fixed: no decision to undo.
+        // Cheapest explanation per period: one neighbour inside the gap window.
+        int[] windowCulprit = new int[model.periodCount()];
+        Arrays.fill(windowCulprit, Integer.MAX_VALUE);
+        for (int i = graph.neighborStart(course); i < graph.neighborEnd(course); i++) {
+            int neighbor = graph.neighborAt(i);
+            if (!state.isPlaced(neighbor)) {
+                continue;
+            }
+            int period = state.periodOf(neighbor);
+            int day = model.dayOf(period);
+            int offset = model.slotOffsetOf(period);
+            for (int k = Math.max(0, offset - gap); k <= Math.min(model.slotsPerDay() - 1, offset + gap); k++) {
+                int p = model.period(day, k);
+                windowCulprit[p] = Math.min(windowCulprit[p], level[neighbor]);
+            }
+        }
+
+        // Cheapest explanation per day: a shared student already at the daily limit.
+        int[] loadCulprit = new int[days];
+        int[] loadStudent = new int[days];
+        int[] dayCount = new int[days];
+        int[] dayLevel = new int[days];
+        Arrays.fill(loadCulprit, Integer.MAX_VALUE);
+        Arrays.fill(dayLevel, -1);
+        for (int s : model.courseStudents(course)) {
+            for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+                int other = model.studentCourseAt(i);
+                if (state.isPlaced(other)) {
+                    int day = model.dayOf(state.periodOf(other));
+                    dayCount[day]++;
+                    dayLevel[day] = Math.max(dayLevel[day], level[other]);
+                }
+            }
+            for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+                int other = model.studentCourseAt(i);
+                if (!state.isPlaced(other)) {
+                    continue;
+                }
+                int day = model.dayOf(state.periodOf(other));
+                if (dayCount[day] >= model.maxExamsPerDay() && dayLevel[day] < loadCulprit[day]) {
+                    loadCulprit[day] = dayLevel[day];
+                    loadStudent[day] = s;
+                }
+                dayCount[day] = 0;
+                dayLevel[day] = -1;
+            }
+        }
+
+        for (int period = 0; period < model.periodCount(); period++) {
+            int day = model.dayOf(period);
+            if (state.isStudentAvailable(course, period)) {
+                for (int j = 0; j < plan.examCount(period); j++) {
+                    conflictSet.set(level[plan.courseAt(period, j)]);
+                }
+            } else if (windowCulprit[period] <= loadCulprit[day]) {
+                if (windowCulprit[period] >= 0) {
+                    conflictSet.set(windowCulprit[period]);
+                }
+            } else if (loadCulprit[day] >= 0) {
+                int s = loadStudent[day];
+                for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+                    int other = model.studentCourseAt(i);
+                    if (level[other] >= 0 && model.dayOf(state.periodOf(other)) == day) {
+                        conflictSet.set(level[other]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Ranks unplaced courses by free periods (fewest first), weight to unplaced neighbours and size,
+    // keeping per-day blocked counts so a change on one day only rechecks that day's slots.
+    static final class SaturationOrder {
+        private final ConstraintState state;
+        private final ProblemModel model;
+        private final ConflictGraph graph;
+        private final int days;
+        private final int[] blocked;
+        private final int[] free;
+        private final long[] openWeight;
+        private final int[] tieBreak;
+        private final IndexedHeap heap;
+
+        SaturationOrder(ConstraintState state, List<Integer> courses) {
+            this.state = state;
+            this.model = state.getModel();
+            this.graph = model.conflictGraph();
+            this.days = model.dayCount();
+            int n = model.courseCount();
+            this.blocked = new int[n * days];
+            this.free = new int[n];
+            this.openWeight = new long[n];
+            this.tieBreak = new int[n];
+            this.heap = new IndexedHeap(n, this::compare);
+            for (int i = 0; i < courses.size(); i++) {
+                int course = courses.get(i);
+                tieBreak[course] = i;
+                free[course] = model.periodCount();
+                for (int j = graph.neighborStart(course); j < graph.neighborEnd(course); j++) {
+                    if (!state.isPlaced(graph.neighborAt(j))) {
+                        openWeight[course] += graph.weightAt(j);
+                    }
+                }
+                for (int day = 0; day < days; day++) {
+                    recount(course, day);
+                }
+                heap.add(course);
+            }
+        }
+
+        int next() {
+            return heap.poll();
+        }
+
+        void requeue(int course) {
+            heap.add(course);
+        }
+
+        int free(int course) { return free[course]; }
+        long openWeight(int course) { return openWeight[course]; }
+
+        // Re-ranks the unplaced neighbours of a course just placed in or taken out of period.
+        void changed(int course, int period, boolean placed) {
+            int day = model.dayOf(period);
+            for (int i = graph.neighborStart(course); i < graph.neighborEnd(course); i++) {
+                int neighbor = graph.neighborAt(i);
+                if (!state.isPlaced(neighbor)) {
+                    openWeight[neighbor] += placed ? -graph.weightAt(i) : graph.weightAt(i);
+                    recount(neighbor, day);
+                    heap.update(neighbor);
+                }
+            }
+        }
+
+        private void recount(int course, int day) {
+            int first = model.period(day, 0);
+            int count = 0;
+            for (int k = 0; k < model.slotsPerDay(); k++) {
+                if (!state.isStudentAvailable(course, first + k)) {
+                    count++;
+                }
+            }
+            int old = blocked[course * days + day];
+            blocked[course * days + day] = count;
+            free[course] += old - count;
+        }
+
+        private int compare(int a, int b) {
+            int cmp = Integer.compare(free[a], free[b]);
+            if (cmp != 0) return cmp;
+            cmp = Long.compare(openWeight[b], openWeight[a]);
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(model.courseSize(b), model.courseSize(a));
+            if (cmp != 0) return cmp;
+            return Integer.compare(tieBreak[a], tieBreak[b]);
+        }
+    }
+}
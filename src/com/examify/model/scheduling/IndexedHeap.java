@@ -0,0 +1,104 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Binary min-heap over the ints {@code 0..capacity-1} that knows where each
+ * element sits, so an element whose key changed is re-ranked with
+ * {@link #update} in O(log n) instead of a full re-sort. The order is given
+ * by a comparator over element ids that reads the keys from the caller's
+ * arrays.
+ */
+public class IndexedHeap {
+
+    private final int[] heap;
+    private final int[] position;
+    private final IntBinaryOperator order;
+    private int size;
+
+    public IndexedHeap(int capacity, IntBinaryOperator order) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.order = order;
+        Arrays.fill(position, -1);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int element) { return position[element] >= 0; }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public void add(int element) {
+        heap[size] = element;
+        position[element] = size;
+        siftUp(size++);
+    }
+
+    public int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    public void remove(int element) {
+        int i = position[element];
+        position[element] = -1;
+        int last = heap[--size];
+        if (i == size) {
+            return;
+        }
+        heap[i] = last;
+        position[last] = i;
+        siftUp(i);
+        siftDown(position[last]);
+    }
+
+    /** Restores the heap order after the key of {@code element} changed; absent elements are ignored. */
+    public void update(int element) {
+        int i = position[element];
+        if (i >= 0) {
+            siftUp(i);
+            siftDown(position[element]);
+        }
+    }
+
+    private void siftUp(int i) {
+        int element = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (order.applyAsInt(element, heap[parent]) >= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = element;
+        position[element] = i;
+    }
+
+    private void siftDown(int i) {
+        int element = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && order.applyAsInt(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (order.applyAsInt(heap[child], element) >= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = element;
+        position[element] = i;
+    }
+}
@@ -0,0 +1,381 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Removes student conflicts (too many exams on a day, exams closer than the
+ * gap) from a period assignment by Kempe-chain swaps. The chain of a course
+ * between its period p and another period q is the set of courses reachable
+ * over conflict-graph edges that run between p and q; swapping it moves p's
+ * part to q and q's part to p, so it never puts two courses that share
+ * students into one period. A swap is scored incrementally over the chain's
+ * students on the two days involved, and taken only if it lowers the
+ * conflict count and both periods still fit their rooms. Chains that reach a
+ * fixed split course are skipped.
+ */
+public class KempeChainRepairer {
+
+    private ProblemModel model;
+    private ConflictGraph graph;
+    private PeriodRoomPlan plan;
+    private int[] period;
+    private int[] chain;
+    private int[] chainMark;
+    private int chainStamp;
+    private int chainSize;
+    private int[] touched;
+    private int[] studentMark;
+    private int[] leaving;
+    private int[] arriving;
+    private byte[] examsOnDay;
+    private int studentStamp;
+    private int touchedCount;
+    private int[] slotCount;
+    private int[] dayOf;
+    private int[] offsetOf;
+
+    private long swaps;
+    private int initialConflicts;
+    private int finalConflicts;
+
+    public long getSwaps() { return swaps; }
+    public int getInitialConflicts() { return initialConflicts; }
+    public int getFinalConflicts() { return finalConflicts; }
+
+    /**
+     * Repairs {@code coursePeriod} in place; unplaced courses stay unplaced,
+     * and courses whose period no longer has a room for them are unplaced.
+     * Returns the number of conflicts left.
+     */
+    public int repair(ProblemModel model, int[] coursePeriod, long timeBudgetMillis) {
+        int n = model.courseCount();
+        this.model = model;
+        this.graph = model.conflictGraph();
+        this.period = coursePeriod;
+        this.plan = new PeriodRoomPlan(model);
+        this.chain = new int[n];
+        this.chainMark = new int[n];
+        this.chainStamp = 0;
+        this.touched = new int[model.studentCount()];
+        this.studentMark = new int[model.studentCount()];
+        this.leaving = new int[model.studentCount()];
+        this.arriving = new int[model.studentCount()];
+        this.examsOnDay = new byte[model.studentCount() * model.dayCount()];
+        this.studentStamp = 0;
+        this.slotCount = new int[4 * model.slotsPerDay()];
+        this.swaps = 0;
+        this.dayOf = new int[model.periodCount()];
+        this.offsetOf = new int[model.periodCount()];
+        for (int p = 0; p < model.periodCount(); p++) {
+            dayOf[p] = model.dayOf(p);
+            offsetOf[p] = model.slotOffsetOf(p);
+        }
+
+        for (int c = 0; c < n; c++) {
+            if (model.isFixed(c)) {
+                period[c] = model.fixedPeriod(c);
+            } else if (period[c] != ConstraintState.UNASSIGNED) {
+                // A period can hold more exams than the current rooms take, e.g. after rooms were
+                // removed; those courses are left unplaced for the caller to place again.
+                if (plan.canAdd(period[c], model.courseSize(c))) {
+                    plan.add(period[c], c);
+                } else {
+                    period[c] = ConstraintState.UNASSIGNED;
+                }
+            }
+            if (period[c] != ConstraintState.UNASSIGNED) {
+                for (int s : model.courseStudents(c)) {
+                    examsOnDay[s * model.dayCount() + dayOf[period[c]]]++;
+                }
+            }
+        }
+
+        int[] studentConflicts = new int[model.studentCount()];
+        int total = 0;
+        for (int s = 0; s < model.studentCount(); s++) {
+            studentConflicts[s] = studentPenalty(s);
+            total += studentConflicts[s];
+        }
+        initialConflicts = total;
+
+        // Courses of conflicted students wait in a queue and are looked at again only
+        // after a swap changed one of their students.
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int head = 0;
+        int size = 0;
+        for (int s = 0; s < model.studentCount(); s++) {
+            if (studentConflicts[s] > 0) {
+                size = enqueueCourses(s, queue, queued, head, size);
+            }
+        }
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        while (size > 0 && total > 0) {
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            int course = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[course] = false;
+            if (!hasConflictedStudent(course, studentConflicts)) {
+                continue;
+            }
+
+            int from = period[course];
+            int bestTarget = -1;
+            int bestDelta = 0;
+            for (int to = 0; to < model.periodCount(); to++) {
+                if (to == from || !buildChain(course, from, to)) {
+                    continue;
+                }
+                int delta = evaluate(from, to);
+                if (delta < bestDelta && roomsFit(from, to)) {
+                    bestDelta = delta;
+                    bestTarget = to;
+                }
+            }
+            if (bestTarget < 0) {
+                continue;
+            }
+
+            buildChain(course, from, bestTarget);
+            collectStudents(from);
+            swap(from, bestTarget);
+            swaps++;
+            for (int k = 0; k < touchedCount; k++) {
+                int student = touched[k];
+                int penalty = studentPenalty(student);
+                total += penalty - studentConflicts[student];
+                studentConflicts[student] = penalty;
+                if (penalty > 0) {
+                    size = enqueueCourses(student, queue, queued, head, size);
+                }
+            }
+        }
+        finalConflicts = total;
+        return total;
+    }
+
+    private int enqueueCourses(int s, int[] queue, boolean[] queued, int head, int size) {
+        for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+            int course = model.studentCourseAt(i);
+            if (!queued[course] && !model.isFixed(course) && period[course] != ConstraintState.UNASSIGNED) {
+                queued[course] = true;
+                queue[(head + size) % queue.length] = course;
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private boolean hasConflictedStudent(int course, int[] studentConflicts) {
+        for (int s : model.courseStudents(course)) {
+            if (studentConflicts[s] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Collects the Kempe chain of course between p and q; false if it reaches a fixed course.
+    private boolean buildChain(int course, int p, int q) {
+        chainStamp++;
+        chainSize = 0;
+        chain[chainSize++] = course;
+        chainMark[course] = chainStamp;
+        for (int i = 0; i < chainSize; i++) {
+            int member = chain[i];
+            if (model.isFixed(member)) {
+                return false;
+            }
+            int other = period[member] == p ? q : p;
+            for (int j = graph.neighborStart(member); j < graph.neighborEnd(member); j++) {
+                int neighbor = graph.neighborAt(j);
+                if (chainMark[neighbor] != chainStamp && period[neighbor] == other) {
+                    chainMark[neighbor] = chainStamp;
+                    chain[chainSize++] = neighbor;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Collects the chain's students and how many of their exams leave and enter period p.
+    private void collectStudents(int p) {
+        studentStamp++;
+        touchedCount = 0;
+        for (int i = 0; i < chainSize; i++) {
+            boolean fromP = period[chain[i]] == p;
+            for (int s : model.courseStudents(chain[i])) {
+                if (studentMark[s] != studentStamp) {
+                    studentMark[s] = studentStamp;
+                    touched[touchedCount++] = s;
+                    leaving[s] = 0;
+                    arriving[s] = 0;
+                }
+                if (fromP) {
+                    leaving[s]++;
+                } else {
+                    arriving[s]++;
+                }
+            }
+        }
+    }
+
+    // Change in conflicts if the current chain swapped between p and q. Students with at most
+    // one exam on either day, before and after, cannot change; for the rest one pass over
+    // their courses fills slot counts for both days, before and after the swap.
+    private int evaluate(int p, int q) {
+        collectStudents(p);
+        int slots = model.slotsPerDay();
+        int days = model.dayCount();
+        int dayP = dayOf[p];
+        int dayQ = dayOf[q];
+        int delta = 0;
+        for (int k = 0; k < touchedCount; k++) {
+            int s = touched[k];
+            if (dayP != dayQ) {
+                int onP = examsOnDay[s * days + dayP];
+                int onQ = examsOnDay[s * days + dayQ];
+                int moved = leaving[s] - arriving[s];
+                if (Math.max(onP, onP - moved) <= 1 && Math.max(onQ, onQ + moved) <= 1) {
+                    continue;
+                }
+            }
+            int beforeP = 0, beforeQ = 0, afterP = 0, afterQ = 0;
+            for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+                int course = model.studentCourseAt(i);
+                int at = period[course];
+                if (at == ConstraintState.UNASSIGNED) {
+                    continue;
+                }
+                int day = dayOf[at];
+                if (day == dayP) {
+                    slotCount[offsetOf[at]]++;
+                    beforeP++;
+                } else if (day == dayQ) {
+                    slotCount[slots + offsetOf[at]]++;
+                    beforeQ++;
+                }
+                if (chainMark[course] == chainStamp) {
+                    at = at == p ? q : p;
+                    day = dayOf[at];
+                }
+                if (day == dayP) {
+                    slotCount[2 * slots + offsetOf[at]]++;
+                    afterP++;
+                } else if (day == dayQ) {
+                    slotCount[3 * slots + offsetOf[at]]++;
+                    afterQ++;
+                }
+            }
+            delta += countPenalty(2 * slots, afterP) + countPenalty(3 * slots, afterQ)
+                    - countPenalty(0, beforeP) - countPenalty(slots, beforeQ);
+        }
+        return delta;
+    }
+
+    private boolean roomsFit(int p, int q) {
+        for (int i = 0; i < chainSize; i++) {
+            plan.remove(period[chain[i]], chain[i]);
+        }
+        int added = 0;
+        while (added < chainSize) {
+            int course = chain[added];
+            int target = period[course] == p ? q : p;
+            if (!plan.canAdd(target, model.courseSize(course))) {
+                break;
+            }
+            plan.add(target, course);
+            added++;
+        }
+        boolean fits = added == chainSize;
+        for (int i = 0; i < added; i++) {
+            plan.remove(period[chain[i]] == p ? q : p, chain[i]);
+        }
+        for (int i = 0; i < chainSize; i++) {
+            plan.add(period[chain[i]], chain[i]);
+        }
+        return fits;
+    }
+
+    private void swap(int p, int q) {
+        for (int i = 0; i < chainSize; i++) {
+            int course = chain[i];
+            int target = period[course] == p ? q : p;
+            plan.remove(period[course], course);
+            plan.add(target, course);
+            for (int s : model.courseStudents(course)) {
+                examsOnDay[s * model.dayCount() + dayOf[period[course]]]--;
+                examsOnDay[s * model.dayCount() + dayOf[target]]++;
+            }
+            period[course] = target;
+        }
+    }
+
+    private int studentPenalty(int s) {
+        int penalty = 0;
+        int lastDay = -1;
+        for (int day : studentDays(s)) {
+            if (day != lastDay) {
+                penalty += dayPenalty(s, day);
+                lastDay = day;
+            }
+        }
+        return penalty;
+    }
+
+    private int[] studentDays(int s) {
+        int[] days = new int[model.studentCourseEnd(s) - model.studentCourseStart(s)];
+        int count = 0;
+        for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+            int at = period[model.studentCourseAt(i)];
+            if (at != ConstraintState.UNASSIGNED) {
+                days[count++] = model.dayOf(at);
+            }
+        }
+        days = Arrays.copyOf(days, count);
+        Arrays.sort(days);
+        return days;
+    }
+
+    private int dayPenalty(int s, int day) {
+        int first = model.period(day, 0);
+        int count = 0;
+        for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+            int at = period[model.studentCourseAt(i)];
+            if (at != ConstraintState.UNASSIGNED && model.dayOf(at) == day) {
+                slotCount[at - first]++;
+                count++;
+            }
+        }
+        return countPenalty(0, count);
+    }
+
+    // Penalty of one student-day from its exams per slot at slotCount[from..], which it clears.
+    // Exams over the daily limit count once each; so does every consecutive pair within the gap.
+    private int countPenalty(int from, int count) {
+        int slots = model.slotsPerDay();
+        if (count < 2) {
+            for (int k = from; k < from + slots && count > 0; k++) {
+                count -= slotCount[k];
+                slotCount[k] = 0;
+            }
+            return 0;
+        }
+        int penalty = Math.max(0, count - model.maxExamsPerDay());
+        int last = Integer.MIN_VALUE / 2;
+        for (int k = 0; k < slots; k++) {
+            for (int j = 0; j < slotCount[from + k]; j++) {
+                if (k - last <= model.minGapBetweenExams()) {
+                    penalty++;
+                }
+                last = k;
+            }
+            slotCount[from + k] = 0;
+        }
+        return penalty;
+    }
+}
@@ -0,0 +1,194 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which courses sit in each period without fixing their rooms. Rooms
+ * of equal capacity are interchangeable, so a period only counts, per
+ * capacity class, its free rooms and the exams that need at least that
+ * class. It can take another exam as long as, for every class, the exams
+ * needing that class or a larger one do not outnumber the free rooms there;
+ * the check costs one pass over the classes, however many identical rooms
+ * each holds. Concrete rooms are handed out afterwards by best-fit
+ * decreasing. Rooms reserved for split courses are left out of their period.
+ */
+public class PeriodRoomPlan {
+
+    private final ProblemModel model;
+    private final int[][] sizes;
+    private final int[][] courses;
+    private final int[] counts;
+    private final int[][] freeRooms;
+    private final int[][] freeByClass;
+    private final int[][] needByClass;
+
+    public PeriodRoomPlan(ProblemModel model) {
+        this.model = model;
+        int periods = model.periodCount();
+        int rooms = model.roomCount();
+        this.sizes = new int[periods][rooms];
+        this.courses = new int[periods][rooms];
+        this.counts = new int[periods];
+        this.freeRooms = new int[periods][];
+        this.freeByClass = new int[periods][model.roomClassCount()];
+        this.needByClass = new int[periods][model.roomClassCount()];
+
+        boolean[][] reserved = new boolean[periods][];
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.isFixed(c)) {
+                int period = model.fixedPeriod(c);
+                if (reserved[period] == null) {
+                    reserved[period] = new boolean[rooms];
+                }
+                for (int room : model.fixedRooms(c)) {
+                    reserved[period][room] = true;
+                }
+            }
+        }
+        for (int p = 0; p < periods; p++) {
+            int[] free = new int[rooms];
+            int count = 0;
+            for (int r = 0; r < rooms; r++) {
+                if (reserved[p] == null || !reserved[p][r]) {
+                    free[count++] = r;
+                    freeByClass[p][model.roomClassOf(r)]++;
+                }
+            }
+            freeRooms[p] = count == rooms ? free : Arrays.copyOf(free, count);
+        }
+    }
+
+    public boolean canAdd(int period, int size) {
+        int needed = model.roomClassFor(size);
+        int[] free = freeByClass[period];
+        int[] need = needByClass[period];
+        int freeAbove = 0;
+        int needAbove = 0;
+        for (int k = free.length - 1; k >= 0; k--) {
+            freeAbove += free[k];
+            needAbove += need[k];
+            if (k <= needed && needAbove + 1 > freeAbove) {
+                return false;
+            }
+        }
+        return needed < free.length;
+    }
+
+    public void add(int period, int course) {
+        int size = model.courseSize(course);
+        int count = counts[period];
+        int[] periodSizes = sizes[period];
+        int[] periodCourses = courses[period];
+        int q = insertionPoint(periodSizes, count, size);
+        System.arraycopy(periodSizes, q, periodSizes, q + 1, count - q);
+        System.arraycopy(periodCourses, q, periodCourses, q + 1, count - q);
+        periodSizes[q] = size;
+        periodCourses[q] = course;
+        counts[period] = count + 1;
+        needByClass[period][model.roomClassFor(size)]++;
+    }
+
+    public void remove(int period, int course) {
+        int count = counts[period];
+        int[] periodSizes = sizes[period];
+        int[] periodCourses = courses[period];
+        for (int j = 0; j < count; j++) {
+            if (periodCourses[j] == course) {
+                System.arraycopy(periodSizes, j + 1, periodSizes, j, count - j - 1);
+                System.arraycopy(periodCourses, j + 1, periodCourses, j, count - j - 1);
+                counts[period] = count - 1;
+                needByClass[period][model.roomClassFor(model.courseSize(course))]--;
+                return;
+            }
+        }
+    }
+
+    public int examCount(int period) {
+        return counts[period];
+    }
+
+    public int courseAt(int period, int index) {
+        return courses[period][index];
+    }
+
+    public static PeriodRoomPlan of(ConstraintState state) {
+        ProblemModel model = state.getModel();
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (state.isPlaced(c) && !model.isFixed(c)) {
+                plan.add(state.periodOf(c), c);
+            }
+        }
+        return plan;
+    }
+
+    public void assignRooms(ConstraintState state) {
+        assignRooms(state, null);
+    }
+
+    /**
+     * Hands out rooms per period by best-fit decreasing. With a warm start,
+     * exams first take their previous room where it is free and large
+     * enough; a period where that leaves some exam without a room is
+     * assigned again without the preference.
+     */
+    public void assignRooms(ConstraintState state, WarmStart warmStart) {
+        boolean[] used = new boolean[model.roomCount()];
+        int[] chosen = new int[model.roomCount()];
+        for (int p = 0; p < counts.length; p++) {
+            if (warmStart == null || !assignPeriod(state, p, warmStart, used, chosen)) {
+                assignPeriod(state, p, null, used, chosen);
+            }
+            for (int j = 0; j < counts[p]; j++) {
+                if (chosen[j] != ConstraintState.UNASSIGNED) {
+                    state.assignRoom(courses[p][j], chosen[j]);
+                }
+            }
+        }
+    }
+
+    private boolean assignPeriod(ConstraintState state, int p, WarmStart warmStart, boolean[] used, int[] chosen) {
+        Arrays.fill(used, false);
+        Arrays.fill(chosen, 0, counts[p], ConstraintState.UNASSIGNED);
+        if (warmStart != null) {
+            for (int j = 0; j < counts[p]; j++) {
+                int r = warmStart.previousRoom(courses[p][j]);
+                if (r >= 0 && !used[r] && state.isRoomFree(p, r) && model.roomCapacity(r) >= sizes[p][j]) {
+                    used[r] = true;
+                    chosen[j] = r;
+                }
+            }
+        }
+        boolean complete = true;
+        int[] free = freeRooms[p];
+        for (int j = 0; j < counts[p]; j++) {
+            if (chosen[j] != ConstraintState.UNASSIGNED) {
+                continue;
+            }
+            int size = sizes[p][j];
+            for (int i = 0; i < free.length && chosen[j] == ConstraintState.UNASSIGNED; i++) {
+                int r = free[i];
+                if (!used[r] && model.roomCapacity(r) >= size) {
+                    used[r] = true;
+                    chosen[j] = r;
+                }
+            }
+            complete &= chosen[j] != ConstraintState.UNASSIGNED;
+        }
+        return complete;
+    }
+
+    private static int insertionPoint(int[] descending, int count, int size) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (descending[mid] >= size) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,314 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import com.examify.model.entities.StudentIndex;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Interned, index-based view of a scheduling request. Students, courses and
+ * classrooms are mapped to dense ints and every (exam day, slot) pair to a
+ * flat period index, {@code day * slotsPerDay + (slot - minSlot)}, so the
+ * solver never hashes strings or steps through dates in its inner loops;
+ * the {@link ExamCalendar} turns day indexes back into dates.
+ * Courses larger than every room are split across several rooms of one
+ * period when the model is built; strategies see them as already placed.
+ */
+public class ProblemModel {
+
+    private final List<Course> courses;
+    private final List<Classroom> classrooms;
+    private final Map<String, Integer> courseIndex;
+    private final Map<String, Integer> roomIndex;
+    private final StudentIndex studentIndex;
+    private final String[] studentIds;
+    private final int[][] courseStudents;
+    private final int[][] courseWords;
+    private final long[][] courseMasks;
+    private final int[] courseSize;
+    private final int[] studentCourseOffsets;
+    private final int[] studentCourseList;
+    private final int[] roomCapacity;
+    private final int[] roomClassOf;
+    private final int[] roomClassStart;
+
+    private final ExamCalendar calendar;
+    private final int dayCount;
+    private final int minSlot;
+    private final int slotsPerDay;
+    private final int maxExamsPerDay;
+    private final int minGapBetweenExams;
+    private final int[] fixedPeriod;
+    private final int[][] fixedRooms;
+    private final int[][] fixedSeats;
+    private volatile ConflictGraph conflictGraph;
+
+    private ProblemModel(List<Course> courses, List<Classroom> classrooms,
+                         ExamCalendar calendar, int minSlot, int maxSlot,
+                         int maxExamsPerDay, int minGapBetweenExams) {
+        this.courses = List.copyOf(courses);
+        this.classrooms = List.copyOf(classrooms);
+        this.calendar = calendar;
+        this.dayCount = calendar.dayCount();
+        this.minSlot = minSlot;
+        this.slotsPerDay = maxSlot - minSlot + 1;
+        this.maxExamsPerDay = maxExamsPerDay;
+        this.minGapBetweenExams = minGapBetweenExams;
+
+        this.courseIndex = new HashMap<>();
+        this.studentIndex = new StudentIndex();
+
+        int n = this.courses.size();
+        this.courseStudents = new int[n][];
+        this.courseWords = new int[n][];
+        this.courseMasks = new long[n][];
+        this.courseSize = new int[n];
+
+        // The model's own index numbers exactly its students, densely.
+        for (int c = 0; c < n; c++) {
+            Course course = this.courses.get(c);
+            courseIndex.put(course.getCourseCode(), c);
+
+            int[] students = course.getEnrollment(studentIndex).toArray();
+            courseStudents[c] = students;
+            courseSize[c] = students.length;
+            buildMask(c, students);
+        }
+        this.studentIds = new String[studentIndex.size()];
+        for (int s = 0; s < studentIds.length; s++) {
+            studentIds[s] = studentIndex.idOf(s);
+        }
+
+        int students = studentIds.length;
+        this.studentCourseOffsets = new int[students + 1];
+        for (int c = 0; c < n; c++) {
+            for (int s : courseStudents[c]) {
+                studentCourseOffsets[s + 1]++;
+            }
+        }
+        for (int s = 0; s < students; s++) {
+            studentCourseOffsets[s + 1] += studentCourseOffsets[s];
+        }
+        this.studentCourseList = new int[studentCourseOffsets[students]];
+        int[] fill = Arrays.copyOf(studentCourseOffsets, students);
+        for (int c = 0; c < n; c++) {
+            for (int s : courseStudents[c]) {
+                studentCourseList[fill[s]++] = c;
+            }
+        }
+
+        this.roomIndex = new HashMap<>();
+        this.roomCapacity = new int[this.classrooms.size()];
+        for (int r = 0; r < roomCapacity.length; r++) {
+            roomCapacity[r] = this.classrooms.get(r).getCapacity();
+            roomIndex.put(this.classrooms.get(r).getClassroomId(), r);
+        }
+
+        // Rooms come sorted by capacity, so equal capacities form contiguous classes.
+        this.roomClassOf = new int[roomCapacity.length];
+        int[] starts = new int[roomCapacity.length + 1];
+        int classes = 0;
+        for (int r = 0; r < roomCapacity.length; r++) {
+            if (r == 0 || roomCapacity[r] != roomCapacity[r - 1]) {
+                starts[classes++] = r;
+            }
+            roomClassOf[r] = classes - 1;
+        }
+        starts[classes] = roomCapacity.length;
+        this.roomClassStart = Arrays.copyOf(starts, classes + 1);
+
+        this.fixedPeriod = new int[n];
+        this.fixedRooms = new int[n][];
+        this.fixedSeats = new int[n][];
+        Arrays.fill(fixedPeriod, ConstraintState.UNASSIGNED);
+    }
+
+    public static ProblemModel of(List<Course> courses, List<Classroom> classrooms,
+                                  LocalDate startDate, LocalDate endDate, int minSlot, int maxSlot,
+                                  int maxExamsPerDay, int minGapBetweenExams) throws SchedulingException {
+        return of(courses, classrooms, ExamCalendar.continuous(startDate, endDate), minSlot, maxSlot,
+                maxExamsPerDay, minGapBetweenExams);
+    }
+
+    public static ProblemModel of(List<Course> courses, List<Classroom> classrooms, ExamCalendar calendar,
+                                  int minSlot, int maxSlot, int maxExamsPerDay, int minGapBetweenExams)
+            throws SchedulingException {
+        ProblemModel model = new ProblemModel(courses, classrooms, calendar, minSlot, maxSlot,
+                maxExamsPerDay, minGapBetweenExams);
+        model.splitOversizedCourses();
+        return model;
+    }
+
+    /** Same calendar, rooms and rules restricted to the given courses; course i there is {@code courseIndices[i]} here. */
+    public ProblemModel subModel(int[] courseIndices) {
+        List<Course> subset = new ArrayList<>(courseIndices.length);
+        for (int c : courseIndices) {
+            subset.add(courses.get(c));
+        }
+        return new ProblemModel(subset, classrooms, calendar, minSlot, minSlot + slotsPerDay - 1,
+                maxExamsPerDay, minGapBetweenExams);
+    }
+
+    private void splitOversizedCourses() throws SchedulingException {
+        int rooms = roomCount();
+        int largestRoom = rooms == 0 ? 0 : roomCapacity[rooms - 1];
+        ConstraintState state = null;
+        boolean[][] reserved = null;
+
+        for (int c = 0; c < courseCount(); c++) {
+            if (courseSize[c] <= largestRoom) {
+                continue;
+            }
+            if (state == null) {
+                state = new ConstraintState(this);
+                reserved = new boolean[periodCount()][rooms];
+            }
+
+            int[] chosen = null;
+            int period = 0;
+            for (; period < periodCount(); period++) {
+                if (state.isStudentAvailable(c, period)) {
+                    chosen = RoomSubsetSelector.select(roomCapacity, reserved[period], courseSize[c]);
+                    if (chosen != null) {
+                        break;
+                    }
+                }
+            }
+            if (chosen == null) {
+                throw new SchedulingException(
+                        String.format("Cannot split course %s (students: %d) across the free rooms of any period.",
+                                courses.get(c).getCourseCode(), courseSize[c]));
+            }
+
+            state.place(c, period, ConstraintState.UNASSIGNED);
+            int[] seats = new int[chosen.length];
+            int remaining = courseSize[c];
+            for (int i = chosen.length - 1; i >= 0; i--) {
+                reserved[period][chosen[i]] = true;
+                seats[i] = Math.min(remaining, roomCapacity[chosen[i]]);
+                remaining -= seats[i];
+            }
+            fixedPeriod[c] = period;
+            fixedRooms[c] = chosen;
+            fixedSeats[c] = seats;
+        }
+    }
+
+    private void buildMask(int c, int[] sortedStudents) {
+        int[] words = new int[sortedStudents.length];
+        long[] masks = new long[sortedStudents.length];
+        int used = -1;
+        for (int s : sortedStudents) {
+            int w = s >>> 6;
+            if (used < 0 || words[used] != w) {
+                used++;
+                words[used] = w;
+            }
+            masks[used] |= 1L << s;
+        }
+        courseWords[c] = Arrays.copyOf(words, used + 1);
+        courseMasks[c] = Arrays.copyOf(masks, used + 1);
+    }
+
+    public int courseCount() { return courses.size(); }
+    public int studentCount() { return studentIds.length; }
+    public int roomCount() { return classrooms.size(); }
+    public int wordCount() { return (studentIds.length + 63) >>> 6; }
+
+    public Course course(int c) { return courses.get(c); }
+    public List<Course> getCourses() { return courses; }
+    public Classroom classroom(int r) { return classrooms.get(r); }
+    public List<Classroom> getClassrooms() { return classrooms; }
+    public String studentId(int s) { return studentIds[s]; }
+    public StudentIndex studentIndex() { return studentIndex; }
+
+    public int courseIndexOf(String courseCode) {
+        Integer idx = courseIndex.get(courseCode);
+        return idx == null ? -1 : idx;
+    }
+
+    public int studentIndexOf(String studentId) {
+        int s = studentIndex.indexOf(studentId);
+        return s < studentIds.length ? s : -1;
+    }
+
+    public int roomIndexOf(String classroomId) {
+        Integer idx = roomIndex.get(classroomId);
+        return idx == null ? -1 : idx;
+    }
+
+    public int[] courseStudents(int c) { return courseStudents[c]; }
+    public int[] courseWords(int c) { return courseWords[c]; }
+    public long[] courseMasks(int c) { return courseMasks[c]; }
+    public int courseSize(int c) { return courseSize[c]; }
+    public int roomCapacity(int r) { return roomCapacity[r]; }
+
+    public int roomClassCount() { return roomClassStart.length - 1; }
+    public int roomClassOf(int r) { return roomClassOf[r]; }
+    public int roomClassStart(int k) { return roomClassStart[k]; }
+    public int roomClassEnd(int k) { return roomClassStart[k + 1]; }
+    public int roomClassCapacity(int k) { return roomCapacity[roomClassStart[k]]; }
+
+    /** Smallest capacity class that can seat {@code size} students, or {@link #roomClassCount()} if none. */
+    public int roomClassFor(int size) {
+        int lo = 0;
+        int hi = roomClassCount();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (roomClassCapacity(mid) >= size) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    public boolean isFixed(int c) { return fixedPeriod[c] != ConstraintState.UNASSIGNED; }
+    public int fixedPeriod(int c) { return fixedPeriod[c]; }
+    public int[] fixedRooms(int c) { return fixedRooms[c]; }
+    public int[] fixedSeats(int c) { return fixedSeats[c]; }
+
+    public int studentCourseStart(int s) { return studentCourseOffsets[s]; }
+    public int studentCourseEnd(int s) { return studentCourseOffsets[s + 1]; }
+    public int studentCourseAt(int index) { return studentCourseList[index]; }
+
+    public ConflictGraph conflictGraph() {
+        ConflictGraph graph = conflictGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = conflictGraph;
+                if (graph == null) {
+                    graph = ConflictGraph.build(this);
+                    conflictGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    public ExamCalendar calendar() { return calendar; }
+    public int dayCount() { return dayCount; }
+    public int slotsPerDay() { return slotsPerDay; }
+    public int periodCount() { return dayCount * slotsPerDay; }
+    public int maxExamsPerDay() { return maxExamsPerDay; }
+    public int minGapBetweenExams() { return minGapBetweenExams; }
+
+    public int period(int day, int slotOffset) { return day * slotsPerDay + slotOffset; }
+    public int dayOf(int period) { return period / slotsPerDay; }
+    public int slotOffsetOf(int period) { return period % slotsPerDay; }
+    public int slotOf(int period) { return minSlot + period % slotsPerDay; }
+    public LocalDate dateOf(int period) { return calendar.dateOf(period / slotsPerDay); }
+
+    /** Period of an exam date and slot, or -1 if the date is not an exam day or the slot is out of range. */
+    public int periodOf(LocalDate date, int slot) {
+        int day = calendar.dayOf(date);
+        int offset = slot - minSlot;
+        if (day < 0 || offset < 0 || offset >= slotsPerDay) {
+            return -1;
+        }
+        return period(day, offset);
+    }
+}
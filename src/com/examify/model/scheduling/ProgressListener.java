@@ -0,0 +1,7 @@
+package com.examify.model.scheduling;
+
+@FunctionalInterface
+public interface ProgressListener {
+
+    void onProgress(SolverProgress progress);
+}
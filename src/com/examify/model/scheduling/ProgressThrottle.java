@@ -0,0 +1,92 @@
+package com.examify.model.scheduling;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shared by every attempt of one run so the listener sees a bounded event
+ * rate no matter how many workers report. When a run is solved in parts,
+ * each part reports through its own view from {@link #split}, and events
+ * carry the placed courses and backtracks summed over all parts.
+ */
+public class ProgressThrottle {
+
+    private final ProgressListener listener;
+    private final long intervalNanos;
+    private final long startNanos;
+    private final AtomicLong lastReport;
+    // Set on part views only.
+    private final int part;
+    private final int partsTotal;
+    private final AtomicIntegerArray partPlaced;
+    private final AtomicLongArray partBacktracks;
+
+    public ProgressThrottle(SolverOptions options) {
+        this.listener = options.getProgressListener();
+        this.intervalNanos = options.getProgressIntervalMillis() * 1_000_000L;
+        this.startNanos = System.nanoTime();
+        this.lastReport = new AtomicLong(startNanos);
+        this.part = -1;
+        this.partsTotal = 0;
+        this.partPlaced = null;
+        this.partBacktracks = null;
+    }
+
+    private ProgressThrottle(ProgressThrottle parent, int part, int partsTotal, AtomicIntegerArray partPlaced,
+                             AtomicLongArray partBacktracks) {
+        this.listener = parent.listener;
+        this.intervalNanos = parent.intervalNanos;
+        this.startNanos = parent.startNanos;
+        this.lastReport = parent.lastReport;
+        this.part = part;
+        this.partsTotal = partsTotal;
+        this.partPlaced = partPlaced;
+        this.partBacktracks = partBacktracks;
+    }
+
+    /** One view per part of a run with {@code total} courses; they share this throttle's rate limit. */
+    public ProgressThrottle[] split(int parts, int total) {
+        AtomicIntegerArray placed = new AtomicIntegerArray(parts);
+        AtomicLongArray backtracks = new AtomicLongArray(parts);
+        ProgressThrottle[] views = new ProgressThrottle[parts];
+        for (int i = 0; i < parts; i++) {
+            views[i] = new ProgressThrottle(this, i, total, placed, backtracks);
+        }
+        return views;
+    }
+
+    public void report(int attempt, int placed, int total, long backtracks) {
+        if (listener == null) {
+            return;
+        }
+        if (partPlaced != null) {
+            partPlaced.set(part, placed);
+            partBacktracks.set(part, backtracks);
+        }
+        long now = System.nanoTime();
+        long last = lastReport.get();
+        if (now - last < intervalNanos || !lastReport.compareAndSet(last, now)) {
+            return;
+        }
+        if (partPlaced != null) {
+            placed = 0;
+            backtracks = 0;
+            for (int i = 0; i < partPlaced.length(); i++) {
+                placed += partPlaced.get(i);
+                backtracks += partBacktracks.get(i);
+            }
+            total = partsTotal;
+        }
+        listener.onProgress(new SolverProgress(attempt, placed, total, backtracks, (now - startNanos) / 1_000_000L));
+    }
+
+    public void reportNow(int attempt, int placed, int total, long backtracks) {
+        if (listener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastReport.set(now);
+        listener.onProgress(new SolverProgress(attempt, placed, total, backtracks, (now - startNanos) / 1_000_000L));
+    }
+}
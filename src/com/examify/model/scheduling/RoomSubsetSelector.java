@@ -0,0 +1,67 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Picks the set of free rooms that seats a split course with the fewest
+ * empty seats, and among those the fewest rooms. A 0/1 subset-sum over
+ * capacities, bounded by size + largest capacity since a minimal cover
+ * never overshoots by a whole room.
+ */
+final class RoomSubsetSelector {
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private RoomSubsetSelector() {}
+
+    static int[] select(int[] capacities, boolean[] reserved, int size) {
+        int[] free = new int[capacities.length];
+        int count = 0;
+        long total = 0;
+        int largest = 0;
+        for (int r = 0; r < capacities.length; r++) {
+            if (!reserved[r]) {
+                free[count++] = r;
+                total += capacities[r];
+                largest = Math.max(largest, capacities[r]);
+            }
+        }
+        if (total < size) {
+            return null;
+        }
+
+        int bound = size + largest - 1;
+        int[] rooms = new int[bound + 1];
+        Arrays.fill(rooms, UNREACHABLE);
+        rooms[0] = 0;
+        boolean[][] take = new boolean[count][bound + 1];
+        for (int i = 0; i < count; i++) {
+            int capacity = capacities[free[i]];
+            for (int sum = bound; sum >= capacity; sum--) {
+                int previous = rooms[sum - capacity];
+                if (previous != UNREACHABLE && previous + 1 < rooms[sum]) {
+                    rooms[sum] = previous + 1;
+                    take[i][sum] = true;
+                }
+            }
+        }
+
+        int best = size;
+        while (best <= bound && rooms[best] == UNREACHABLE) {
+            best++;
+        }
+        if (best > bound) {
+            return null;
+        }
+
+        int[] chosen = new int[rooms[best]];
+        int k = chosen.length;
+        for (int i = count - 1, sum = best; i >= 0 && sum > 0; i--) {
+            if (take[i][sum]) {
+                chosen[--k] = free[i];
+                sum -= capacities[free[i]];
+            }
+        }
+        return chosen;
+    }
+}
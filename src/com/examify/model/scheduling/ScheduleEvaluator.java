@@ -0,0 +1,34 @@
+package com.examify.model.scheduling;
+
+/**
+ * Soft-constraint penalty of a complete placement; lower is better. Used to
+ * rank candidate schedules that all satisfy the hard constraints. The
+ * student pairs are counted by {@link SoftConstraintScorer}.
+ */
+public final class ScheduleEvaluator {
+
+    public static final int SAME_DAY_PENALTY = 5;
+    public static final int BACK_TO_BACK_PENALTY = 3;
+    public static final int NEXT_DAY_PENALTY = 1;
+    public static final int EMPTY_SEATS_PER_PENALTY = 50;
+
+    private ScheduleEvaluator() {}
+
+    public static long penalty(ConstraintState state) {
+        ProblemModel model = state.getModel();
+        int courses = model.courseCount();
+        SoftConstraintScorer scorer = SoftConstraintScorer.of(state, SoftConstraintScorer.Weights.defaults());
+        long penalty = SAME_DAY_PENALTY * scorer.getSameDayPairs()
+                + BACK_TO_BACK_PENALTY * scorer.getBackToBackPairs()
+                + NEXT_DAY_PENALTY * scorer.getNextDayPairs();
+
+        long emptySeats = 0;
+        for (int c = 0; c < courses; c++) {
+            int room = state.roomOf(c);
+            if (room != ConstraintState.UNASSIGNED) {
+                emptySeats += model.roomCapacity(room) - model.courseSize(c);
+            }
+        }
+        return penalty + emptySeats / EMPTY_SEATS_PER_PENALTY;
+    }
+}
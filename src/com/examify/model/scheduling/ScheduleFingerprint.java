@@ -0,0 +1,73 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Stable SHA-256 of everything that decides a generated schedule: courses
+ * with their enrolled students, classrooms with their capacities, the date
+ * and slot ranges and the solver settings. Courses, students and rooms are
+ * hashed in sorted order, so the input order and the set implementation
+ * behind a course's enrollment do not matter.
+ */
+public final class ScheduleFingerprint {
+
+    private final MessageDigest digest;
+
+    private ScheduleFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String of(List<Course> courses, List<Classroom> classrooms, LocalDate startDate,
+                            LocalDate endDate, int minSlot, int maxSlot, String solverSettings) {
+        ScheduleFingerprint fingerprint = new ScheduleFingerprint();
+        fingerprint.add("dates").add(startDate.toString()).add(endDate.toString());
+        fingerprint.add("slots").add(minSlot).add(maxSlot);
+        fingerprint.add("solver").add(solverSettings);
+
+        List<Course> sortedCourses = new ArrayList<>(courses);
+        sortedCourses.sort(Comparator.comparing(Course::getCourseCode));
+        fingerprint.add("courses").add(sortedCourses.size());
+        for (Course course : sortedCourses) {
+            List<String> students = new ArrayList<>(course.getEnrolledStudents());
+            Collections.sort(students);
+            fingerprint.add(course.getCourseCode()).add(students.size());
+            for (String student : students) {
+                fingerprint.add(student);
+            }
+        }
+
+        List<Classroom> sortedRooms = new ArrayList<>(classrooms);
+        sortedRooms.sort(Comparator.comparing(Classroom::getClassroomId));
+        fingerprint.add("classrooms").add(sortedRooms.size());
+        for (Classroom classroom : sortedRooms) {
+            fingerprint.add(classroom.getClassroomId()).add(classroom.getCapacity());
+        }
+        return HexFormat.of().formatHex(fingerprint.digest.digest());
+    }
+
+    // Length-prefixed, so no two different field sequences hash the same bytes.
+    private ScheduleFingerprint add(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    private ScheduleFingerprint add(int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+        return this;
+    }
+}
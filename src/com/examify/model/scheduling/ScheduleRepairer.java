@@ -0,0 +1,105 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import com.examify.model.entities.Exam;
+import java.util.*;
+
+/**
+ * Re-places only the exams an edit invalidated. Previous placements are
+ * locked in, unchanged courses first, as long as they still satisfy every
+ * constraint; exams that lost their period, their room or their student
+ * availability are displaced and placed again around the locked ones.
+ */
+public class ScheduleRepairer {
+
+    private final List<String> displacedCourses = new ArrayList<>();
+
+    public List<String> getDisplacedCourses() {
+        return new ArrayList<>(displacedCourses);
+    }
+
+    public ConstraintState repair(ProblemModel model, List<Exam> previousExams, Set<String> changedCourses)
+            throws SchedulingException {
+        displacedCourses.clear();
+        ConstraintState state = new ConstraintState(model);
+
+        Map<Integer, Exam> previous = new HashMap<>();
+        for (Exam exam : previousExams) {
+            int course = model.courseIndexOf(exam.getCourseCode());
+            if (course >= 0 && !model.isFixed(course)) {
+                previous.putIfAbsent(course, exam);
+            }
+        }
+
+        List<Integer> lockOrder = new ArrayList<>(previous.keySet());
+        lockOrder.sort(Comparator
+                .comparing((Integer c) -> changedCourses.contains(model.course(c).getCourseCode()))
+                .thenComparing(c -> c));
+
+        List<Integer> displaced = new ArrayList<>();
+        for (int course : lockOrder) {
+            Exam exam = previous.get(course);
+            int period = model.periodOf(exam.getExamDate(), exam.getSlot());
+            if (period < 0 || !state.isStudentAvailable(course, period)) {
+                displaced.add(course);
+                continue;
+            }
+            int room = model.roomIndexOf(exam.getClassroomId());
+            if (room < 0 || model.roomCapacity(room) < model.courseSize(course) || !state.isRoomFree(period, room)) {
+                room = bestFitRoom(state, course, period);
+            }
+            if (room < 0) {
+                displaced.add(course);
+                continue;
+            }
+            state.place(course, period, room);
+        }
+
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (!previous.containsKey(c) && !model.isFixed(c)) {
+                displaced.add(c);
+            }
+        }
+        displaced.sort(Comparator.comparingInt((Integer c) -> model.courseSize(c)).reversed());
+
+        for (int course : displaced) {
+            displacedCourses.add(model.course(course).getCourseCode());
+            if (!placeAnywhere(state, course)) {
+                throw new SchedulingException(
+                        String.format("Cannot repair schedule: no free period for course %s (students: %d).",
+                                model.course(course).getCourseCode(), model.courseSize(course)));
+            }
+        }
+
+        return state;
+    }
+
+    private boolean placeAnywhere(ConstraintState state, int course) {
+        ProblemModel model = state.getModel();
+        for (int period = 0; period < model.periodCount(); period++) {
+            if (!state.isStudentAvailable(course, period)) {
+                continue;
+            }
+            int room = bestFitRoom(state, course, period);
+            if (room >= 0) {
+                state.place(course, period, room);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int bestFitRoom(ConstraintState state, int course, int period) {
+        ProblemModel model = state.getModel();
+        int needed = model.roomClassFor(model.courseSize(course));
+        if (needed == model.roomClassCount()) {
+            return -1;
+        }
+        for (int room = model.roomClassStart(needed); room < model.roomCount(); room++) {
+            if (state.isRoomFree(period, room)) {
+                return room;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+
+/**
+ * A placement engine. Every strategy receives the same immutable
+ * {@link ProblemModel} and returns the state it reached; a state that is not
+ * complete means the run was cancelled before finishing.
+ */
+public interface SchedulingStrategy {
+
+    String getName();
+
+    ConstraintState solve(ProblemModel model, SolverContext context) throws SchedulingException;
+}
@@ -0,0 +1,266 @@
+package com.examify.model.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Weighted soft-constraint score of a placement with running totals. It
+ * counts, per student, pairs of exams on one day, pairs exactly at the
+ * closest allowed distance (back to back) and pairs on consecutive days;
+ * across the schedule, the squared number of exams per room (room overuse)
+ * and per day (day imbalance). Counts of exams per student and day and per
+ * student and period make the delta of moving one course proportional to
+ * its enrolment, independent of the students' other exams. Split courses
+ * count for their students but not for room overuse.
+ */
+public class SoftConstraintScorer {
+
+    public static final class Weights {
+        private final double sameDay;
+        private final double backToBack;
+        private final double nextDay;
+        private final double roomOveruse;
+        private final double dayImbalance;
+
+        public Weights(double sameDay, double backToBack, double nextDay, double roomOveruse, double dayImbalance) {
+            this.sameDay = sameDay;
+            this.backToBack = backToBack;
+            this.nextDay = nextDay;
+            this.roomOveruse = roomOveruse;
+            this.dayImbalance = dayImbalance;
+        }
+
+        /** The student-spread weights of {@link ScheduleEvaluator} and the annealer's room balance. */
+        public static Weights defaults() {
+            return new Weights(ScheduleEvaluator.SAME_DAY_PENALTY, ScheduleEvaluator.BACK_TO_BACK_PENALTY,
+                    ScheduleEvaluator.NEXT_DAY_PENALTY, AnnealingOptimizer.DEFAULT_ROOM_BALANCE_WEIGHT, 0);
+        }
+
+        public double getSameDay() { return sameDay; }
+        public double getBackToBack() { return backToBack; }
+        public double getNextDay() { return nextDay; }
+        public double getRoomOveruse() { return roomOveruse; }
+        public double getDayImbalance() { return dayImbalance; }
+    }
+
+    private final ProblemModel model;
+    private final Weights weights;
+    private final int days;
+    private final int periods;
+    private final int slotsPerDay;
+    private final int backToBackDistance;
+    private final int[] dayOf;
+    private final int[] offsetOf;
+    private final int[] period;
+    private final int[] room;
+    private final byte[] studentDay;
+    private final byte[] studentPeriod;
+    private final int[] roomUsage;
+    private final int[] dayExams;
+
+    private long sameDayPairs;
+    private long backToBackPairs;
+    private long nextDayPairs;
+    private long roomSquares;
+    private long daySquares;
+
+    // Deltas of the last evaluate() call, per component.
+    private long deltaSameDay;
+    private long deltaBackToBack;
+    private long deltaNextDay;
+    private long deltaRoom;
+    private long deltaDay;
+
+    public SoftConstraintScorer(ProblemModel model, Weights weights) {
+        this.model = model;
+        this.weights = weights;
+        this.days = model.dayCount();
+        this.periods = model.periodCount();
+        this.slotsPerDay = model.slotsPerDay();
+        this.backToBackDistance = model.minGapBetweenExams() + 1;
+        this.dayOf = new int[periods];
+        this.offsetOf = new int[periods];
+        for (int p = 0; p < periods; p++) {
+            dayOf[p] = model.dayOf(p);
+            offsetOf[p] = model.slotOffsetOf(p);
+        }
+        this.period = new int[model.courseCount()];
+        this.room = new int[model.courseCount()];
+        Arrays.fill(period, ConstraintState.UNASSIGNED);
+        Arrays.fill(room, ConstraintState.UNASSIGNED);
+        this.studentDay = new byte[model.studentCount() * days];
+        this.studentPeriod = new byte[model.studentCount() * periods];
+        this.roomUsage = new int[model.roomCount()];
+        this.dayExams = new int[days];
+    }
+
+    /** A scorer loaded with the current placement of {@code state}. */
+    public static SoftConstraintScorer of(ConstraintState state, Weights weights) {
+        SoftConstraintScorer scorer = new SoftConstraintScorer(state.getModel(), weights);
+        for (int c = 0; c < state.getModel().courseCount(); c++) {
+            if (state.isPlaced(c)) {
+                scorer.move(c, state.periodOf(c), state.roomOf(c));
+            }
+        }
+        return scorer;
+    }
+
+    public Weights getWeights() { return weights; }
+    public long getSameDayPairs() { return sameDayPairs; }
+    public long getBackToBackPairs() { return backToBackPairs; }
+    public long getNextDayPairs() { return nextDayPairs; }
+    public long getRoomUsageSquares() { return roomSquares; }
+    public long getDayLoadSquares() { return daySquares; }
+    public int periodOf(int course) { return period[course]; }
+    public int roomOf(int course) { return room[course]; }
+
+    public double total() {
+        return weights.sameDay * sameDayPairs + weights.backToBack * backToBackPairs
+                + weights.nextDay * nextDayPairs + weights.roomOveruse * roomSquares
+                + weights.dayImbalance * daySquares;
+    }
+
+    /**
+     * Change of {@link #total()} if {@code course} moved to the given period
+     * and room; either may be UNASSIGNED. Nothing is changed.
+     */
+    public double moveDelta(int course, int newPeriod, int newRoom) {
+        evaluate(course, newPeriod, newRoom);
+        return weightedDelta();
+    }
+
+    /** Change of {@link #total()} if two courses exchanged their periods and rooms. */
+    public double swapDelta(int a, int b) {
+        int periodA = period[a];
+        int roomA = room[a];
+        double delta = moveDelta(a, period[b], room[b]);
+        move(a, period[b], room[b]);
+        delta += moveDelta(b, periodA, roomA);
+        move(a, periodA, roomA);
+        return delta;
+    }
+
+    /** Moves {@code course} and updates the running totals. */
+    public void move(int course, int newPeriod, int newRoom) {
+        evaluate(course, newPeriod, newRoom);
+        sameDayPairs += deltaSameDay;
+        backToBackPairs += deltaBackToBack;
+        nextDayPairs += deltaNextDay;
+        roomSquares += deltaRoom;
+        daySquares += deltaDay;
+
+        int oldPeriod = period[course];
+        if (newPeriod != oldPeriod) {
+            for (int s : model.courseStudents(course)) {
+                if (oldPeriod != ConstraintState.UNASSIGNED) {
+                    studentDay[s * days + dayOf[oldPeriod]]--;
+                    studentPeriod[s * periods + oldPeriod]--;
+                }
+                if (newPeriod != ConstraintState.UNASSIGNED) {
+                    studentDay[s * days + dayOf[newPeriod]]++;
+                    studentPeriod[s * periods + newPeriod]++;
+                }
+            }
+            if (oldPeriod != ConstraintState.UNASSIGNED) {
+                dayExams[dayOf[oldPeriod]]--;
+            }
+            if (newPeriod != ConstraintState.UNASSIGNED) {
+                dayExams[dayOf[newPeriod]]++;
+            }
+        }
+        if (countsRoom(course, room[course])) {
+            roomUsage[room[course]]--;
+        }
+        if (countsRoom(course, newRoom)) {
+            roomUsage[newRoom]++;
+        }
+        period[course] = newPeriod;
+        room[course] = newRoom;
+    }
+
+    private double weightedDelta() {
+        return weights.sameDay * deltaSameDay + weights.backToBack * deltaBackToBack
+                + weights.nextDay * deltaNextDay + weights.roomOveruse * deltaRoom
+                + weights.dayImbalance * deltaDay;
+    }
+
+    private boolean countsRoom(int course, int r) {
+        return r != ConstraintState.UNASSIGNED && !model.isFixed(course);
+    }
+
+    // Fills the delta fields for a move; the counters are touched only to take the
+    // course out of its old period and put back before returning.
+    private void evaluate(int course, int newPeriod, int newRoom) {
+        int oldPeriod = period[course];
+        int oldRoom = room[course];
+        deltaSameDay = 0;
+        deltaBackToBack = 0;
+        deltaNextDay = 0;
+        deltaRoom = 0;
+        deltaDay = 0;
+
+        if (newPeriod != oldPeriod) {
+            for (int s : model.courseStudents(course)) {
+                int dayBase = s * days;
+                int periodBase = s * periods;
+                if (oldPeriod != ConstraintState.UNASSIGNED) {
+                    studentDay[dayBase + dayOf[oldPeriod]]--;
+                    studentPeriod[periodBase + oldPeriod]--;
+                    deltaSameDay -= studentDay[dayBase + dayOf[oldPeriod]];
+                    deltaNextDay -= adjacentDays(dayBase, dayOf[oldPeriod]);
+                    deltaBackToBack -= backToBack(periodBase, oldPeriod);
+                }
+                if (newPeriod != ConstraintState.UNASSIGNED) {
+                    deltaSameDay += studentDay[dayBase + dayOf[newPeriod]];
+                    deltaNextDay += adjacentDays(dayBase, dayOf[newPeriod]);
+                    deltaBackToBack += backToBack(periodBase, newPeriod);
+                }
+                if (oldPeriod != ConstraintState.UNASSIGNED) {
+                    studentDay[dayBase + dayOf[oldPeriod]]++;
+                    studentPeriod[periodBase + oldPeriod]++;
+                }
+            }
+            int oldDay = oldPeriod == ConstraintState.UNASSIGNED ? -1 : dayOf[oldPeriod];
+            int newDay = newPeriod == ConstraintState.UNASSIGNED ? -1 : dayOf[newPeriod];
+            if (oldDay != newDay) {
+                if (oldDay >= 0) {
+                    deltaDay -= 2L * dayExams[oldDay] - 1;
+                }
+                if (newDay >= 0) {
+                    deltaDay += 2L * dayExams[newDay] + 1;
+                }
+            }
+        }
+
+        if (newRoom != oldRoom) {
+            if (countsRoom(course, oldRoom)) {
+                deltaRoom -= 2L * roomUsage[oldRoom] - 1;
+            }
+            if (countsRoom(course, newRoom)) {
+                deltaRoom += 2L * roomUsage[newRoom] + 1;
+            }
+        }
+    }
+
+    private int adjacentDays(int dayBase, int day) {
+        int count = 0;
+        if (day > 0) {
+            count += studentDay[dayBase + day - 1];
+        }
+        if (day < days - 1) {
+            count += studentDay[dayBase + day + 1];
+        }
+        return count;
+    }
+
+    private int backToBack(int periodBase, int p) {
+        int offset = offsetOf[p];
+        int count = 0;
+        if (offset - backToBackDistance >= 0) {
+            count += studentPeriod[periodBase + p - backToBackDistance];
+        }
+        if (offset + backToBackDistance < slotsPerDay) {
+            count += studentPeriod[periodBase + p + backToBackDistance];
+        }
+        return count;
+    }
+}
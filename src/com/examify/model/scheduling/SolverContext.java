@@ -0,0 +1,84 @@
+package com.examify.model.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SolverContext {
+
+    private final int attempt;
+    private final Random random;
+    private final AtomicBoolean stop;
+    private final CancellationToken cancelToken;
+    private final long deadlineNanos;
+    private final ProgressThrottle progress;
+    private final WarmStart warmStart;
+    private final SolverTelemetry telemetry;
+    private final List<ConstraintState> states = new ArrayList<>(1);
+
+    public SolverContext(int attempt, Random random, AtomicBoolean stop) {
+        this(attempt, random, stop, SolverOptions.none(), null);
+    }
+
+    public SolverContext(int attempt, Random random, AtomicBoolean stop, SolverOptions options,
+                         ProgressThrottle progress) {
+        this(attempt, random, stop, options, progress, null);
+    }
+
+    public SolverContext(int attempt, Random random, AtomicBoolean stop, SolverOptions options,
+                         ProgressThrottle progress, WarmStart warmStart) {
+        this(attempt, random, stop, options, progress, warmStart, null);
+    }
+
+    public SolverContext(int attempt, Random random, AtomicBoolean stop, SolverOptions options,
+                         ProgressThrottle progress, WarmStart warmStart, SolverTelemetry telemetry) {
+        this.attempt = attempt;
+        this.random = random;
+        this.stop = stop;
+        this.cancelToken = options.getCancelToken();
+        long remaining = options.remainingMillis();
+        this.deadlineNanos = remaining == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + remaining * 1_000_000L;
+        this.progress = progress;
+        this.warmStart = warmStart;
+        this.telemetry = telemetry;
+    }
+
+    public int getAttempt() { return attempt; }
+    public Random getRandom() { return random; }
+    public WarmStart getWarmStart() { return warmStart; }
+
+    /** The period a strategy should try {@code rank}-th for a course: the warm-start spiral, or rank itself. */
+    public int periodAt(int course, int rank) {
+        return warmStart == null ? rank : warmStart.periodAt(course, rank);
+    }
+
+    /** A fresh state for {@code model}; strategies create their states here so the attempt can be measured. */
+    public ConstraintState newState(ProblemModel model) {
+        ConstraintState state = new ConstraintState(model);
+        if (telemetry != null) {
+            state.setTimeChecks(true);
+            states.add(state);
+        }
+        return state;
+    }
+
+    /** Reports this attempt and its states' counters; called once, after the strategy returned or threw. */
+    public void recordTelemetry() {
+        if (telemetry != null) {
+            telemetry.recordAttempt(states);
+        }
+    }
+
+    public boolean isCancelled() {
+        return (stop != null && stop.get())
+                || (cancelToken != null && cancelToken.isCancelled())
+                || (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0);
+    }
+
+    public void reportProgress(int placed, int total, long backtracks) {
+        if (progress != null) {
+            progress.report(attempt, placed, total, backtracks);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Exam;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Limits and hooks for one generation run. With a deadline the scheduler
+ * returns the best schedule reached when time runs out instead of failing;
+ * progress events are throttled to at most one per
+ * {@code progressIntervalMillis} across all parallel attempts. Exams of a
+ * previous schedule, when given, seed the search with their placement.
+ */
+public class SolverOptions {
+
+    public static final long DEFAULT_PROGRESS_INTERVAL_MILLIS = 250;
+
+    private Instant deadline;
+    private CancellationToken cancelToken;
+    private ProgressListener progressListener;
+    private long progressIntervalMillis = DEFAULT_PROGRESS_INTERVAL_MILLIS;
+    private List<Exam> previousExams;
+
+    public SolverOptions() {
+    }
+
+    public SolverOptions(Instant deadline, CancellationToken cancelToken, ProgressListener progressListener) {
+        this.deadline = deadline;
+        this.cancelToken = cancelToken;
+        this.progressListener = progressListener;
+    }
+
+    public static SolverOptions none() {
+        return new SolverOptions();
+    }
+
+    public static SolverOptions withTimeLimit(Duration timeLimit) {
+        return new SolverOptions(Instant.now().plus(timeLimit), null, null);
+    }
+
+    public Instant getDeadline() { return deadline; }
+    public void setDeadline(Instant deadline) { this.deadline = deadline; }
+
+    public CancellationToken getCancelToken() { return cancelToken; }
+    public void setCancelToken(CancellationToken cancelToken) { this.cancelToken = cancelToken; }
+
+    public ProgressListener getProgressListener() { return progressListener; }
+    public void setProgressListener(ProgressListener progressListener) { this.progressListener = progressListener; }
+
+    public long getProgressIntervalMillis() { return progressIntervalMillis; }
+    public void setProgressIntervalMillis(long progressIntervalMillis) {
+        this.progressIntervalMillis = Math.max(0, progressIntervalMillis);
+    }
+
+    public List<Exam> getPreviousExams() { return previousExams; }
+    public void setPreviousExams(List<Exam> previousExams) { this.previousExams = previousExams; }
+
+    public boolean isWarmStart() {
+        return previousExams != null && !previousExams.isEmpty();
+    }
+
+    public boolean isCancelled() {
+        return cancelToken != null && cancelToken.isCancelled();
+    }
+
+    public long remainingMillis() {
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+    }
+
+    public boolean isStopRequested() {
+        return isCancelled() || remainingMillis() == 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.examify.model.scheduling;
+
+public class SolverProgress {
+
+    private final int attempt;
+    private final int placedCourses;
+    private final int totalCourses;
+    private final long backtracks;
+    private final long elapsedMillis;
+
+    public SolverProgress(int attempt, int placedCourses, int totalCourses, long backtracks, long elapsedMillis) {
+        this.attempt = attempt;
+        this.placedCourses = placedCourses;
+        this.totalCourses = totalCourses;
+        this.backtracks = backtracks;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getAttempt() { return attempt; }
+    public int getPlacedCourses() { return placedCourses; }
+    public int getTotalCourses() { return totalCourses; }
+    public long getBacktracks() { return backtracks; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public double getFraction() {
+        return totalCourses == 0 ? 1.0 : (double) placedCourses / totalCourses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Attempt %d: %d/%d courses placed, %d backtracks, %d ms",
+                attempt, placedCourses, totalCourses, backtracks, elapsedMillis);
+    }
+}
@@ -0,0 +1,189 @@
+package com.examify.model.scheduling;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counters and per-phase timings of schedule generation. Off by default:
+ * while disabled the scheduler hands strategies no telemetry and only the
+ * plain counters inside each {@link ConstraintState} are kept, so the cost
+ * is a field increment per availability check. When enabled, the counters
+ * of every attempt's state are added here after the attempt, check time is
+ * sampled, and each run ends with a one-line summary in the log. The shared
+ * instance is registered as the MBean {@value #OBJECT_NAME}, whose
+ * {@code Enabled} attribute switches it at run time.
+ */
+public class SolverTelemetry implements SolverTelemetryMBean {
+    private static final Logger logger = LoggerFactory.getLogger(SolverTelemetry.class);
+
+    public static final String OBJECT_NAME = "com.examify:type=SolverTelemetry";
+
+    public enum Phase { VALIDATE, PREPROCESS, ATTEMPT, OPTIMIZE, CONFLICT_DETECTION }
+
+    private static final SolverTelemetry shared = register(new SolverTelemetry());
+
+    private volatile boolean enabled;
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder coursesPlaced = new LongAdder();
+    private final LongAdder placementChecks = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAdder constraintCheckNanos = new LongAdder();
+    private final LongAdder optimizerIterations = new LongAdder();
+    private final LongAdder decompositionFallbacks = new LongAdder();
+    private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+
+    public SolverTelemetry() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new LongAdder();
+        }
+    }
+
+    /** The instance every {@code ExamScheduler} reports to unless given another one. */
+    public static SolverTelemetry shared() { return shared; }
+
+    private static SolverTelemetry register(SolverTelemetry telemetry) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(telemetry, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            logger.warn("Solver telemetry is not available over JMX: {}", e.getMessage());
+        }
+        return telemetry;
+    }
+
+    @Override public boolean isEnabled() { return enabled; }
+    @Override public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public void recordRun() {
+        runs.increment();
+    }
+
+    /** Adds one strategy attempt and the search counters of the states it created. */
+    public void recordAttempt(List<ConstraintState> states) {
+        attempts.increment();
+        for (ConstraintState state : states) {
+            coursesPlaced.add(state.getPlacements());
+            placementChecks.add(state.getAvailabilityChecks());
+            backtracks.add(state.getBacktracks());
+            constraintCheckNanos.add(state.getCheckNanos());
+        }
+    }
+
+    public void recordOptimizerIterations(long iterations) {
+        optimizerIterations.add(iterations);
+    }
+
+    /** A decomposed solve whose parts could not be merged, so the whole model was solved again. */
+    public void recordDecompositionFallback() {
+        decompositionFallbacks.increment();
+    }
+
+    public void recordPhase(Phase phase, long startNanos) {
+        phaseNanos[phase.ordinal()].add(System.nanoTime() - startNanos);
+    }
+
+    @Override public long getRuns() { return runs.sum(); }
+    @Override public long getAttempts() { return attempts.sum(); }
+    @Override public long getCoursesPlaced() { return coursesPlaced.sum(); }
+    @Override public long getPlacementChecks() { return placementChecks.sum(); }
+    @Override public long getBacktracks() { return backtracks.sum(); }
+    @Override public long getConstraintCheckMillis() { return constraintCheckNanos.sum() / 1_000_000; }
+    @Override public long getOptimizerIterations() { return optimizerIterations.sum(); }
+    @Override public long getDecompositionFallbacks() { return decompositionFallbacks.sum(); }
+
+    public long getPhaseMillis(Phase phase) { return phaseNanos[phase.ordinal()].sum() / 1_000_000; }
+    @Override public long getValidateMillis() { return getPhaseMillis(Phase.VALIDATE); }
+    @Override public long getPreprocessMillis() { return getPhaseMillis(Phase.PREPROCESS); }
+    @Override public long getAttemptMillis() { return getPhaseMillis(Phase.ATTEMPT); }
+    @Override public long getOptimizeMillis() { return getPhaseMillis(Phase.OPTIMIZE); }
+    @Override public long getConflictDetectionMillis() { return getPhaseMillis(Phase.CONFLICT_DETECTION); }
+
+    @Override
+    public void reset() {
+        runs.reset();
+        attempts.reset();
+        coursesPlaced.reset();
+        placementChecks.reset();
+        backtracks.reset();
+        constraintCheckNanos.reset();
+        optimizerIterations.reset();
+        decompositionFallbacks.reset();
+        for (LongAdder adder : phaseNanos) {
+            adder.reset();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] phases = new long[phaseNanos.length];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = phaseNanos[i].sum();
+        }
+        return new Snapshot(attempts.sum(), coursesPlaced.sum(), placementChecks.sum(), backtracks.sum(),
+                constraintCheckNanos.sum(), optimizerIterations.sum(), decompositionFallbacks.sum(), phases);
+    }
+
+    /** Totals at one moment; the difference of two covers one run when runs do not overlap. */
+    public static final class Snapshot {
+        private final long attempts;
+        private final long coursesPlaced;
+        private final long placementChecks;
+        private final long backtracks;
+        private final long constraintCheckNanos;
+        private final long optimizerIterations;
+        private final long decompositionFallbacks;
+        private final long[] phaseNanos;
+
+        private Snapshot(long attempts, long coursesPlaced, long placementChecks, long backtracks,
+                         long constraintCheckNanos, long optimizerIterations, long decompositionFallbacks,
+                         long[] phaseNanos) {
+            this.attempts = attempts;
+            this.coursesPlaced = coursesPlaced;
+            this.placementChecks = placementChecks;
+            this.backtracks = backtracks;
+            this.constraintCheckNanos = constraintCheckNanos;
+            this.optimizerIterations = optimizerIterations;
+            this.decompositionFallbacks = decompositionFallbacks;
+            this.phaseNanos = phaseNanos;
+        }
+
+        public Snapshot minus(Snapshot earlier) {
+            long[] phases = new long[phaseNanos.length];
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = phaseNanos[i] - earlier.phaseNanos[i];
+            }
+            return new Snapshot(attempts - earlier.attempts, coursesPlaced - earlier.coursesPlaced,
+                    placementChecks - earlier.placementChecks, backtracks - earlier.backtracks,
+                    constraintCheckNanos - earlier.constraintCheckNanos,
+                    optimizerIterations - earlier.optimizerIterations,
+                    decompositionFallbacks - earlier.decompositionFallbacks, phases);
+        }
+
+        public long getAttempts() { return attempts; }
+        public long getCoursesPlaced() { return coursesPlaced; }
+        public long getPlacementChecks() { return placementChecks; }
+        public long getBacktracks() { return backtracks; }
+        public long getConstraintCheckNanos() { return constraintCheckNanos; }
+        public long getOptimizerIterations() { return optimizerIterations; }
+        public long getDecompositionFallbacks() { return decompositionFallbacks; }
+        public long getPhaseNanos(Phase phase) { return phaseNanos[phase.ordinal()]; }
+
+        @Override
+        public String toString() {
+            StringBuilder phases = new StringBuilder();
+            for (Phase phase : Phase.values()) {
+                phases.append(phases.length() == 0 ? "" : ", ")
+                        .append(phase.name().toLowerCase()).append('=')
+                        .append(phaseNanos[phase.ordinal()] / 1_000_000).append("ms");
+            }
+            return String.format("attempts=%d placed=%d checks=%d backtracks=%d checkTime=%dms "
+                            + "optimizerIterations=%d decompositionFallbacks=%d [%s]", attempts, coursesPlaced,
+                    placementChecks, backtracks, constraintCheckNanos / 1_000_000, optimizerIterations,
+                    decompositionFallbacks, phases);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.examify.model.scheduling;
+
+/** JMX view of {@link SolverTelemetry}: running totals since start or the last reset. */
+public interface SolverTelemetryMBean {
+
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+
+    long getRuns();
+    long getAttempts();
+    long getCoursesPlaced();
+    long getPlacementChecks();
+    long getBacktracks();
+    long getConstraintCheckMillis();
+    long getOptimizerIterations();
+    long getDecompositionFallbacks();
+
+    long getValidateMillis();
+    long getPreprocessMillis();
+    long getAttemptMillis();
+    long getOptimizeMillis();
+    long getConflictDetectionMillis();
+
+    void reset();
+}
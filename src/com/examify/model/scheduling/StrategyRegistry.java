@@ -0,0 +1,44 @@
+package com.examify.model.scheduling;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+public final class StrategyRegistry {
+
+    public static final String GREEDY = "greedy";
+    public static final String GREEDY_DYNAMIC = "greedy-dynamic";
+    public static final String DSATUR = "dsatur";
+    public static final String FORWARD_CHECKING = "forward-checking";
+    public static final String DEFAULT_STRATEGY = GREEDY;
+
+    private static final Map<String, Supplier<SchedulingStrategy>> strategies = new LinkedHashMap<>();
+
+    static {
+        register(GREEDY, GreedyStrategy::new);
+        register(GREEDY_DYNAMIC, () -> new GreedyStrategy(true));
+        register(DSATUR, DSaturStrategy::new);
+        register(FORWARD_CHECKING, ForwardCheckingStrategy::new);
+    }
+
+    private StrategyRegistry() {}
+
+    public static synchronized void register(String name, Supplier<SchedulingStrategy> factory) {
+        strategies.put(name.toLowerCase(Locale.ROOT), factory);
+    }
+
+    public static synchronized SchedulingStrategy create(String name) {
+        Supplier<SchedulingStrategy> factory = strategies.get(name.toLowerCase(Locale.ROOT));
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown scheduling strategy: " + name);
+        }
+        return factory.get();
+    }
+
+    public static synchronized boolean contains(String name) {
+        return strategies.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    public static synchronized List<String> names() {
+        return new ArrayList<>(strategies.keySet());
+    }
+}
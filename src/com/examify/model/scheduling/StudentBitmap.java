@@ -0,0 +1,239 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.EnrollmentSet;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable compressed set of student indexes in the Roaring layout: the
+ * index space is cut into chunks of 65536 keyed by the high 16 bits, and
+ * each non-empty chunk keeps its low 16 bits either as a sorted
+ * {@code char[]} (up to 4096 entries, two bytes each) or as a 1024-word
+ * bitmap (8 KB, whatever the count). Sparse courses therefore cost about
+ * two bytes per student and a course holding a large share of the term at
+ * most one bit per student, and intersection counts work chunk by chunk with
+ * merges, bit probes and popcounts.
+ */
+public final class StudentBitmap {
+
+    // Largest array container; past this a bitmap container is smaller.
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    public static final StudentBitmap EMPTY = new StudentBitmap(new char[0], new Container[0], 0);
+
+    private final char[] keys;
+    private final Container[] containers;
+    private final int size;
+    private final int cardinality;
+
+    private StudentBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        this.cardinality = total;
+    }
+
+    public static StudentBitmap of(EnrollmentSet enrollment) {
+        return of(enrollment.toArray(), enrollment.size());
+    }
+
+    /** Bitmap of the first {@code length} entries of a sorted, duplicate-free array of non-negative ints. */
+    public static StudentBitmap of(int[] sorted, int length) {
+        char[] keys = new char[4];
+        Container[] containers = new Container[4];
+        int size = 0;
+        int i = 0;
+        while (i < length) {
+            int high = sorted[i] >>> 16;
+            int end = i;
+            while (end < length && sorted[end] >>> 16 == high) {
+                end++;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = (char) high;
+            containers[size++] = Container.of(sorted, i, end);
+            i = end;
+        }
+        return new StudentBitmap(keys, containers, size);
+    }
+
+    public int cardinality() { return cardinality; }
+    public boolean isEmpty() { return cardinality == 0; }
+
+    public boolean contains(int student) {
+        int i = Arrays.binarySearch(keys, 0, size, (char) (student >>> 16));
+        return i >= 0 && containers[i].contains((char) student);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /** Size of {@code this AND other} without building it. */
+    public int andCardinality(StudentBitmap other) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                count += containers[i++].andCardinality(other.containers[j++]);
+            }
+        }
+        return count;
+    }
+
+    /** Estimated heap footprint in bytes, assuming compressed object pointers. */
+    public long sizeInBytes() {
+        long bytes = 24 + array(2L * keys.length) + array(4L * containers.length);
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static long array(long payload) {
+        return (16 + payload + 7) & ~7L;
+    }
+
+    private abstract static class Container {
+
+        static Container of(int[] sorted, int from, int to) {
+            if (to - from > ARRAY_LIMIT) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int i = from; i < to; i++) {
+                    int low = sorted[i] & 0xFFFF;
+                    words[low >>> 6] |= 1L << low;
+                }
+                return new BitmapContainer(words, to - from);
+            }
+            char[] values = new char[to - from];
+            for (int i = from; i < to; i++) {
+                values[i - from] = (char) sorted[i];
+            }
+            return new ArrayContainer(values, values.length);
+        }
+
+        abstract int cardinality();
+        abstract boolean contains(char low);
+        abstract void forEach(int base, IntConsumer action);
+        abstract int andCardinality(Container other);
+        abstract long sizeInBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+        private final int cardinality;
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override int cardinality() { return cardinality; }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            int count = 0;
+            if (other instanceof BitmapContainer bitmap) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (bitmap.contains(values[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                if (values[i] < array.values[j]) {
+                    i++;
+                } else if (values[i] > array.values[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16 + array(2L * values.length);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private final int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override int cardinality() { return cardinality; }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                count += Long.bitCount(words[w] & otherWords[w]);
+            }
+            return count;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16 + array(8L * BITMAP_WORDS);
+        }
+    }
+}
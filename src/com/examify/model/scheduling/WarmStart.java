@@ -0,0 +1,69 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Exam;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Placement hint taken from an earlier schedule. A course that had an exam
+ * inside the model's calendar tries that period first and then spirals
+ * outward (one slot later, one earlier, two later, ...); its old classroom
+ * is preferred when rooms are handed out. Courses without a usable hint keep
+ * the natural period order.
+ */
+public class WarmStart {
+
+    private final int periods;
+    private final int[] anchor;
+    private final int[] room;
+
+    private WarmStart(int periods, int[] anchor, int[] room) {
+        this.periods = periods;
+        this.anchor = anchor;
+        this.room = room;
+    }
+
+    public static WarmStart of(ProblemModel model, List<Exam> previousExams) {
+        int n = model.courseCount();
+        int[] anchor = new int[n];
+        int[] room = new int[n];
+        Arrays.fill(anchor, ConstraintState.UNASSIGNED);
+        Arrays.fill(room, ConstraintState.UNASSIGNED);
+        for (Exam exam : previousExams) {
+            int course = model.courseIndexOf(exam.getCourseCode());
+            if (course < 0 || anchor[course] != ConstraintState.UNASSIGNED) {
+                continue;
+            }
+            int period = model.periodOf(exam.getExamDate(), exam.getSlot());
+            if (period >= 0) {
+                anchor[course] = period;
+                room[course] = model.roomIndexOf(exam.getClassroomId());
+            }
+        }
+        return new WarmStart(model.periodCount(), anchor, room);
+    }
+
+    public boolean hasHint(int course) {
+        return anchor[course] != ConstraintState.UNASSIGNED;
+    }
+
+    public int previousPeriod(int course) { return anchor[course]; }
+    public int previousRoom(int course) { return room[course]; }
+
+    /** The period to try {@code rank}-th for a course; every rank below periodCount maps to a distinct period. */
+    public int periodAt(int course, int rank) {
+        int a = anchor[course];
+        if (a == ConstraintState.UNASSIGNED) {
+            return rank;
+        }
+        int below = a;
+        int above = periods - 1 - a;
+        int both = Math.min(below, above);
+        if (rank <= 2 * both) {
+            int distance = (rank + 1) / 2;
+            return (rank & 1) == 1 ? a + distance : a - distance;
+        }
+        int distance = rank - both;
+        return above > below ? a + distance : a - distance;
+    }
+}
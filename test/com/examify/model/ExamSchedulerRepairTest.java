@@ -0,0 +1,88 @@
+package com.examify.model;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import com.examify.model.entities.Exam;
+import com.examify.model.entities.Schedule;
+import java.time.LocalDate;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamSchedulerRepairTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void repairOntoFewerRoomsThanAPeriodHeldFailsWithSchedulingException() throws Exception {
+        // Four exams in the one period of day one; with two rooms left, C and D must both move to
+        // day two, which they cannot share. The repairer gives up and the Kempe pass sees a period
+        // holding more exams than there are rooms.
+        List<Course> courses = List.of(course("A", "r1"), course("B", "r2"), course("C", "r3"), course("D", "r4"));
+        Schedule previous = previousSchedule(START, List.of("A", "B", "C", "D"), 1);
+        List<Course> edited = List.of(course("A", "r1"), course("B", "r2"), course("C", "r3", "r34"),
+                course("D", "r4", "r34"));
+        List<Classroom> twoRooms = rooms(2);
+
+        ExamScheduler scheduler = new ExamScheduler();
+        assertThrows(SchedulingException.class, () -> scheduler.repairSchedule(previous, courses, "edited",
+                edited, twoRooms, START, START.plusDays(1), 1, 1));
+
+        // The edit screen then regenerates from the previous schedule.
+        Schedule regenerated = scheduler.generateSchedule("edited", edited, twoRooms, START, START.plusDays(1),
+                1, 1, previous);
+        assertEquals(4, regenerated.getExams().size());
+        assertRoomsDistinctPerPeriod(regenerated);
+        assertTrue(scheduler.getConflicts().isEmpty());
+    }
+
+    @Test
+    void repairOntoFewerRoomsMovesOnlyTheExamsThatLostTheirRoom() throws Exception {
+        List<Course> courses = List.of(course("A", "r1"), course("B", "r2"), course("C", "r3"), course("D", "r4"));
+        Schedule previous = previousSchedule(START, List.of("A", "B", "C", "D"), 1);
+
+        ExamScheduler scheduler = new ExamScheduler();
+        Schedule repaired = scheduler.repairSchedule(previous, courses, "edited", courses, rooms(2),
+                START, START.plusDays(1), 1, 1);
+
+        assertEquals(4, repaired.getExams().size());
+        assertRoomsDistinctPerPeriod(repaired);
+        long stayed = repaired.getExams().stream().filter(exam -> exam.getExamDate().equals(START)).count();
+        assertEquals(2, stayed);
+    }
+
+    private static Schedule previousSchedule(LocalDate date, List<String> courseCodes, int slot) {
+        Schedule schedule = new Schedule("previous", date, date.plusDays(1), 1);
+        schedule.setMinSlot(slot);
+        schedule.setMaxSlot(slot);
+        int room = 0;
+        for (String code : courseCodes) {
+            schedule.addExam(new Exam(code, "R" + room++, date, slot));
+        }
+        return schedule;
+    }
+
+    private static void assertRoomsDistinctPerPeriod(Schedule schedule) {
+        Set<String> used = new HashSet<>();
+        for (Exam exam : schedule.getExams()) {
+            assertTrue(used.add(exam.getExamDate() + "/" + exam.getSlot() + "/" + exam.getClassroomId()),
+                    "room used twice: " + exam);
+        }
+    }
+
+    private static Course course(String code, String... students) {
+        Course course = new Course(code);
+        course.setEnrolledStudents(new HashSet<>(Arrays.asList(students)));
+        return course;
+    }
+
+    private static List<Classroom> rooms(int count) {
+        List<Classroom> rooms = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            rooms.add(new Classroom("R" + r, 30));
+        }
+        return rooms;
+    }
+}
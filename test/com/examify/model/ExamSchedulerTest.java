@@ -0,0 +1,137 @@
+package com.examify.model;
+
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import com.examify.model.entities.Exam;
+import com.examify.model.entities.Schedule;
+import com.examify.model.scheduling.SchedulingStrategy;
+import com.examify.model.scheduling.StrategyRegistry;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static com.examify.model.ScheduleAssertions.assertHardConstraints;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamSchedulerTest {
+
+    private final InstanceGenerator generator = generator();
+    private final List<Course> courses = generator.generateCourses();
+    private final List<Classroom> classrooms = generator.generateClassrooms();
+
+    @Test
+    void everyRegisteredStrategyKeepsTheHardConstraints() throws Exception {
+        for (String name : StrategyRegistry.names()) {
+            ExamScheduler scheduler = scheduler(new ExamScheduler());
+            Schedule schedule = generate(scheduler, StrategyRegistry.create(name));
+
+            assertHardConstraints(schedule, courses, classrooms, 2, 1);
+            assertTrue(scheduler.getConflicts().isEmpty(), name + ": " + scheduler.getConflicts());
+        }
+    }
+
+    @Test
+    void oneExamADayAndAWiderGapAreHonoured() throws Exception {
+        // One exam a day needs a day per course of the largest group sharing students.
+        ExamScheduler scheduler = scheduler(new ExamScheduler(1, 2));
+        Schedule schedule = scheduler.generateSchedule("term", courses, classrooms, generator.getStartDate(),
+                generator.getStartDate().plusDays(29), generator.getMinSlot(), generator.getMaxSlot());
+
+        assertHardConstraints(schedule, courses, classrooms, 1, 2);
+        assertTrue(scheduler.getConflicts().isEmpty());
+    }
+
+    @Test
+    void decomposedAndParallelRunsKeepTheHardConstraints() throws Exception {
+        ExamScheduler decomposed = scheduler(new ExamScheduler());
+        decomposed.setDecomposeComponents(true);
+        assertHardConstraints(generate(decomposed, decomposed.getStrategy()), courses, classrooms, 2, 1);
+
+        ExamScheduler parallel = scheduler(new ExamScheduler());
+        parallel.setParallelAttempts(4);
+        assertHardConstraints(generate(parallel, parallel.getStrategy()), courses, classrooms, 2, 1);
+    }
+
+    @Test
+    void coursesLargerThanEveryRoomAreSplitAcrossRoomsOfOnePeriod() throws Exception {
+        List<Course> withLecture = new ArrayList<>(courses);
+        Course lecture = new Course("LECTURE");
+        int largest = classrooms.stream().mapToInt(Classroom::getCapacity).max().orElseThrow();
+        for (int s = 0; s < largest + 50; s++) {
+            lecture.addEnrolledStudent(generator.studentId(s));
+        }
+        withLecture.add(lecture);
+
+        ExamScheduler scheduler = scheduler(new ExamScheduler());
+        Schedule schedule = scheduler.generateSchedule("split", withLecture, classrooms, generator.getStartDate(),
+                generator.getEndDate(), generator.getMinSlot(), generator.getMaxSlot());
+
+        assertHardConstraints(schedule, withLecture, classrooms, 2, 1);
+        List<Exam> parts = schedule.getExams().stream()
+                .filter(exam -> exam.getCourseCode().equals("LECTURE")).toList();
+        assertTrue(parts.size() > 1);
+        assertEquals(largest + 50, parts.stream().mapToInt(Exam::getStudentCount).sum());
+    }
+
+    @Test
+    void warmStartKeepsMostExamsWhereTheyWere() throws Exception {
+        ExamScheduler scheduler = scheduler(new ExamScheduler());
+        Schedule previous = generate(scheduler, scheduler.getStrategy());
+        List<Course> edited = new ArrayList<>(courses);
+        Course added = new Course("ADDED");
+        added.addEnrolledStudent(generator.studentId(0));
+        added.addEnrolledStudent(generator.studentId(1));
+        edited.add(added);
+
+        Schedule regenerated = scheduler.generateSchedule("edited", edited, classrooms, generator.getStartDate(),
+                generator.getEndDate(), generator.getMinSlot(), generator.getMaxSlot(), previous);
+
+        assertHardConstraints(regenerated, edited, classrooms, 2, 1);
+        Map<String, String> before = new HashMap<>();
+        for (Exam exam : previous.getExams()) {
+            before.put(exam.getCourseCode(), exam.getExamDate() + "/" + exam.getSlot());
+        }
+        long kept = regenerated.getExams().stream()
+                .filter(exam -> (exam.getExamDate() + "/" + exam.getSlot()).equals(before.get(exam.getCourseCode())))
+                .count();
+        assertTrue(kept >= courses.size() * 9 / 10, "kept " + kept + " of " + courses.size());
+    }
+
+    @Test
+    void aRepeatedRequestIsServedFromTheCacheAsACopy() throws Exception {
+        SolutionCache cache = new SolutionCache(4);
+        ExamScheduler scheduler = scheduler(new ExamScheduler());
+        scheduler.setSolutionCache(cache);
+        Schedule first = generate(scheduler, scheduler.getStrategy());
+        first.getExams().get(0).setSlot(99);
+
+        Schedule second = generate(scheduler, scheduler.getStrategy());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertHardConstraints(second, courses, classrooms, 2, 1);
+        assertTrue(scheduler.getConflicts().isEmpty());
+    }
+
+    private static InstanceGenerator generator() {
+        InstanceGenerator generator = new InstanceGenerator();
+        generator.setSeed(17);
+        generator.setStudents(300);
+        generator.setCourses(30);
+        generator.setClassrooms(8);
+        generator.setDays(14);
+        generator.setSlots(1, 4);
+        return generator;
+    }
+
+    // Private cache and a short annealing budget, so tests neither share results nor wait on the optimiser.
+    private static ExamScheduler scheduler(ExamScheduler scheduler) {
+        scheduler.setSolutionCache(new SolutionCache(SolutionCache.DEFAULT_CAPACITY));
+        scheduler.setOptimizationTimeMillis(50);
+        return scheduler;
+    }
+
+    private Schedule generate(ExamScheduler scheduler, SchedulingStrategy strategy) throws Exception {
+        return scheduler.generateSchedule("term", courses, classrooms, generator.getStartDate(),
+                generator.getEndDate(), generator.getMinSlot(), generator.getMaxSlot(), strategy);
+    }
+}
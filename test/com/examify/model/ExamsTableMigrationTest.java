@@ -0,0 +1,123 @@
+package com.examify.model;
+
+import java.sql.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamsTableMigrationTest {
+
+    // The exams table as created before courses could be split across rooms.
+    private static final String[] OLD_SCHEMA = {
+        """
+        CREATE TABLE schedules (
+            schedule_id INTEGER PRIMARY KEY AUTOINCREMENT,
+            name TEXT NOT NULL,
+            start_date DATE NOT NULL,
+            end_date DATE NOT NULL,
+            slots_per_day INTEGER NOT NULL CHECK(slots_per_day > 0)
+        )
+        """,
+        """
+        CREATE TABLE courses (
+            schedule_id INTEGER NOT NULL,
+            course_code TEXT NOT NULL,
+            PRIMARY KEY (schedule_id, course_code)
+        )
+        """,
+        """
+        CREATE TABLE classrooms (
+            schedule_id INTEGER NOT NULL,
+            classroom_id TEXT NOT NULL,
+            capacity INTEGER NOT NULL CHECK(capacity > 0),
+            PRIMARY KEY (schedule_id, classroom_id)
+        )
+        """,
+        """
+        CREATE TABLE enrollments (
+            enrollment_id INTEGER PRIMARY KEY AUTOINCREMENT,
+            schedule_id INTEGER NOT NULL,
+            student_id TEXT NOT NULL,
+            course_code TEXT NOT NULL,
+            UNIQUE(schedule_id, student_id, course_code)
+        )
+        """,
+        """
+        CREATE TABLE exams (
+            exam_id INTEGER PRIMARY KEY AUTOINCREMENT,
+            schedule_id INTEGER NOT NULL,
+            course_code TEXT NOT NULL,
+            classroom_id TEXT NOT NULL,
+            exam_date DATE NOT NULL,
+            slot INTEGER NOT NULL CHECK(slot >= 0),
+            duration INTEGER DEFAULT 2,
+            UNIQUE(schedule_id, classroom_id, exam_date, slot),
+            UNIQUE(schedule_id, course_code)
+        )
+        """
+    };
+
+    @Test
+    void oldExamRowsGetTheirCourseEnrolmentAsStudentCountAndSplitsBecomePossible() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            execute(connection, OLD_SCHEMA);
+            execute(connection,
+                    "INSERT INTO schedules (schedule_id, name, start_date, end_date, slots_per_day) "
+                            + "VALUES (1, 'term', '2026-01-05', '2026-01-16', 4)",
+                    "INSERT INTO courses VALUES (1, 'MATH101'), (1, 'PHYS101')",
+                    "INSERT INTO classrooms VALUES (1, 'R1', 40), (1, 'R2', 40)",
+                    "INSERT INTO enrollments (schedule_id, student_id, course_code) VALUES "
+                            + "(1, 's1', 'MATH101'), (1, 's2', 'MATH101'), (1, 's3', 'MATH101'), (1, 's1', 'PHYS101')",
+                    "INSERT INTO exams (exam_id, schedule_id, course_code, classroom_id, exam_date, slot) VALUES "
+                            + "(7, 1, 'MATH101', 'R1', '2026-01-05', 1), (8, 1, 'PHYS101', 'R1', '2026-01-06', 1)");
+
+            ExamsTableMigration.migrate(connection);
+
+            assertEquals(3, queryInt(connection, "SELECT student_count FROM exams WHERE exam_id = 7"));
+            assertEquals(1, queryInt(connection, "SELECT student_count FROM exams WHERE exam_id = 8"));
+            assertEquals("R1", queryString(connection, "SELECT classroom_id FROM exams WHERE exam_id = 7"));
+            execute(connection, "INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, "
+                    + "student_count) VALUES (1, 'MATH101', 'R2', '2026-01-05', 1, 1)");
+            assertThrows(SQLException.class, () -> execute(connection,
+                    "INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot) "
+                            + "VALUES (1, 'MATH101', 'R2', '2026-01-07', 1)"));
+        }
+    }
+
+    @Test
+    void aMigratedTableIsLeftAlone() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            execute(connection, OLD_SCHEMA);
+            ExamsTableMigration.migrate(connection);
+            execute(connection, "INSERT INTO exams (schedule_id, course_code, classroom_id, exam_date, slot, "
+                    + "student_count) VALUES (1, 'MATH101', 'R1', '2026-01-05', 1, 25)");
+
+            ExamsTableMigration.migrate(connection);
+
+            assertEquals(25, queryInt(connection, "SELECT student_count FROM exams"));
+            assertTrue(connection.getAutoCommit());
+        }
+    }
+
+    private static void execute(Connection connection, String... statements) throws SQLException {
+        for (String sql : statements) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    private static int queryInt(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+}
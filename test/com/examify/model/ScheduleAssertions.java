@@ -0,0 +1,75 @@
+package com.examify.model;
+
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import com.examify.model.entities.Exam;
+import com.examify.model.entities.Schedule;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Checks a generated schedule against the hard constraints, from its exams alone. */
+final class ScheduleAssertions {
+
+    private ScheduleAssertions() {}
+
+    /**
+     * Every course sits in exactly one period, in rooms no other exam of that period uses and
+     * that seat all its students; no student has two exams in a period, more than
+     * {@code maxExamsPerDay} on a day or two on a day fewer than {@code minGap} free slots apart.
+     */
+    static void assertHardConstraints(Schedule schedule, List<Course> courses, List<Classroom> classrooms,
+                                      int maxExamsPerDay, int minGap) {
+        Map<String, Integer> capacity = new HashMap<>();
+        for (Classroom room : classrooms) {
+            capacity.put(room.getClassroomId(), room.getCapacity());
+        }
+
+        Map<String, String> periodOf = new HashMap<>();
+        Map<String, Integer> seatsOf = new HashMap<>();
+        Set<String> roomsInUse = new HashSet<>();
+        for (Exam exam : schedule.getExams()) {
+            String period = exam.getExamDate() + "/" + exam.getSlot();
+            String previous = periodOf.putIfAbsent(exam.getCourseCode(), period);
+            assertTrue(previous == null || previous.equals(period), exam.getCourseCode() + " in two periods");
+            Integer roomCapacity = capacity.get(exam.getClassroomId());
+            assertNotNull(roomCapacity, "unknown room " + exam.getClassroomId());
+            assertTrue(roomsInUse.add(period + "/" + exam.getClassroomId()), "room used twice: " + exam);
+            assertTrue(exam.getStudentCount() <= roomCapacity, "room too small: " + exam);
+            seatsOf.merge(exam.getCourseCode(), roomCapacity, Integer::sum);
+        }
+
+        Map<String, List<Exam>> examsOf = new HashMap<>();
+        for (Exam exam : schedule.getExams()) {
+            examsOf.computeIfAbsent(exam.getCourseCode(), code -> new ArrayList<>()).add(exam);
+        }
+        Map<String, List<Exam>> studentExams = new HashMap<>();
+        for (Course course : courses) {
+            String code = course.getCourseCode();
+            assertTrue(periodOf.containsKey(code), code + " not scheduled");
+            assertTrue(seatsOf.get(code) >= course.getEnrolledStudents().size(), "too few seats for " + code);
+            Exam exam = examsOf.get(code).get(0);
+            for (String student : course.getEnrolledStudents()) {
+                studentExams.computeIfAbsent(student, s -> new ArrayList<>()).add(exam);
+            }
+        }
+
+        for (Map.Entry<String, List<Exam>> entry : studentExams.entrySet()) {
+            Map<LocalDate, List<Integer>> slotsByDate = new HashMap<>();
+            for (Exam exam : entry.getValue()) {
+                slotsByDate.computeIfAbsent(exam.getExamDate(), d -> new ArrayList<>()).add(exam.getSlot());
+            }
+            for (Map.Entry<LocalDate, List<Integer>> day : slotsByDate.entrySet()) {
+                List<Integer> slots = day.getValue();
+                String who = entry.getKey() + " on " + day.getKey();
+                assertTrue(slots.size() <= maxExamsPerDay, "too many exams for " + who);
+                for (int a = 0; a < slots.size(); a++) {
+                    for (int b = a + 1; b < slots.size(); b++) {
+                        assertTrue(Math.abs(slots.get(a) - slots.get(b)) > minGap, "exams too close for " + who);
+                    }
+                }
+            }
+        }
+    }
+}
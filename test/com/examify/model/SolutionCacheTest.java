@@ -0,0 +1,56 @@
+package com.examify.model;
+
+import com.examify.model.entities.Exam;
+import java.time.LocalDate;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void examsAreCopiedOnTheWayInAndOut() {
+        SolutionCache cache = new SolutionCache(2);
+        List<Exam> exams = new ArrayList<>(List.of(exam("A", 1), exam("B", 2)));
+        cache.put("f", exams);
+        exams.get(0).setSlot(9);
+        exams.add(exam("C", 3));
+
+        List<Exam> first = cache.get("f");
+        assertEquals(2, first.size());
+        assertEquals(1, first.get(0).getSlot());
+        assertEquals(30, first.get(0).getStudentCount());
+        first.get(1).setClassroomId("elsewhere");
+
+        assertEquals("R", cache.get("f").get(1).getClassroomId());
+    }
+
+    @Test
+    void theLeastRecentlyUsedEntryIsEvictedFirst() {
+        SolutionCache cache = new SolutionCache(2);
+        cache.put("a", List.of(exam("A", 1)));
+        cache.put("b", List.of(exam("B", 1)));
+        assertNotNull(cache.get("a"));
+        cache.put("c", List.of(exam("C", 1)));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    private static Exam exam(String course, int slot) {
+        Exam exam = new Exam(course, "R", DATE, slot);
+        exam.setStudentCount(30);
+        return exam;
+    }
+}
@@ -0,0 +1,52 @@
+package com.examify.model.entities;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseTest {
+
+    @Test
+    void enrollmentFollowsChangesThatKeepTheSize() {
+        Course course = new Course("X");
+        course.setEnrolledStudents(new HashSet<>(List.of("a", "b")));
+        StudentIndex index = new StudentIndex();
+        course.getEnrollment(index);
+
+        course.getEnrolledStudents().remove("a");
+        course.getEnrolledStudents().add("c");
+
+        EnrollmentSet enrollment = course.getEnrollment(index);
+        assertEquals(2, enrollment.size());
+        assertTrue(enrollment.contains(index.indexOf("c")));
+        assertFalse(enrollment.contains(index.indexOf("a")));
+    }
+
+    @Test
+    void enrollmentFollowsRemovalThroughTheIterator() {
+        Course course = new Course("X");
+        course.setEnrolledStudents(new HashSet<>(List.of("a", "b")));
+        StudentIndex index = new StudentIndex();
+        assertEquals(2, course.getEnrollment(index).size());
+
+        course.getEnrolledStudents().removeIf("a"::equals);
+
+        assertEquals(1, course.getEnrollment(index).size());
+    }
+
+    @Test
+    void enrollmentIsCachedPerIndex() {
+        Course course = new Course("X");
+        course.setEnrolledStudents(new HashSet<>(List.of("a", "b")));
+        StudentIndex first = new StudentIndex();
+        StudentIndex second = new StudentIndex();
+        second.intern("z");
+
+        EnrollmentSet inFirst = course.getEnrollment(first);
+        assertSame(inFirst, course.getEnrollment(first));
+        EnrollmentSet inSecond = course.getEnrollment(second);
+        assertTrue(inSecond.contains(second.indexOf("a")));
+        assertFalse(inSecond.contains(0));
+    }
+}
@@ -0,0 +1,88 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Course;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static com.examify.model.scheduling.ModelFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentDecompositionTest {
+
+    @Test
+    void partsCoverEveryCourseOnceAndShareNoStudents() throws Exception {
+        ProblemModel model = model(groupedCourses(5, 8), rooms(60, 60, 60, 60), 4, 3, 2, 1);
+        ComponentDecomposition decomposition = ComponentDecomposition.of(model, 2);
+
+        assertEquals(2, decomposition.partCount());
+        assertTrue(decomposition.componentCount() >= 5);
+        int[] partOf = new int[model.courseCount()];
+        Arrays.fill(partOf, -1);
+        for (int part = 0; part < decomposition.partCount(); part++) {
+            for (int c : decomposition.partCourses(part)) {
+                assertEquals(-1, partOf[c], "course in two parts");
+                partOf[c] = part;
+            }
+        }
+        ConflictGraph graph = model.conflictGraph();
+        for (int c = 0; c < model.courseCount(); c++) {
+            assertNotEquals(-1, partOf[c], "course in no part");
+            for (int i = graph.neighborStart(c); i < graph.neighborEnd(c); i++) {
+                assertEquals(partOf[c], partOf[graph.neighborAt(i)]);
+            }
+        }
+    }
+
+    @Test
+    void mergedPartsKeepEveryHardConstraint() throws Exception {
+        // Four rooms a period for five groups of eight courses: the parts' days compete for rooms.
+        ProblemModel model = model(groupedCourses(5, 8), rooms(60, 60, 60, 60), 8, 3, 2, 1);
+        ComponentDecomposition decomposition = ComponentDecomposition.of(model, 3);
+        ConstraintState[] solved = new ConstraintState[decomposition.partCount()];
+        for (int part = 0; part < solved.length; part++) {
+            solved[part] = new GreedyStrategy().solve(decomposition.partModel(part), context(0, part));
+        }
+
+        ConstraintState merged = decomposition.merge(solved);
+        assertNotNull(merged);
+        assertValid(merged);
+    }
+
+    @Test
+    void mergeGivesUpWhenADayFitsNowhere() throws Exception {
+        ProblemModel model = model(List.of(course("A", "a"), course("B", "b")), rooms(10), 1, 1, 2, 1);
+        ComponentDecomposition decomposition = ComponentDecomposition.of(model, 2);
+        assertEquals(2, decomposition.partCount());
+        ConstraintState[] solved = new ConstraintState[2];
+        for (int part = 0; part < 2; part++) {
+            solved[part] = new GreedyStrategy().solve(decomposition.partModel(part), context(0, part));
+        }
+
+        assertNull(decomposition.merge(solved));
+    }
+
+    @Test
+    void splitCoursesKeepTheModelInOnePart() throws Exception {
+        ProblemModel model = model(List.of(course("BIG", "a", "b", "c"), course("B", "d"), course("C", "e")),
+                rooms(2, 2, 2), 2, 2, 2, 1);
+
+        ComponentDecomposition decomposition = ComponentDecomposition.of(model, 4);
+        assertEquals(1, decomposition.partCount());
+        assertEquals(model.courseCount(), decomposition.partCourses(0).length);
+    }
+
+    // Groups of courses whose students take courses of their own group only.
+    private static List<Course> groupedCourses(int groups, int coursesPerGroup) {
+        List<Course> courses = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            for (Course course : randomCourses(g, coursesPerGroup, 20, 3)) {
+                Course renamed = new Course("G" + g + course.getCourseCode());
+                for (String student : course.getEnrolledStudents()) {
+                    renamed.addEnrolledStudent("G" + g + student);
+                }
+                courses.add(renamed);
+            }
+        }
+        return courses;
+    }
+}
@@ -0,0 +1,111 @@
+package com.examify.model.scheduling;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static com.examify.model.scheduling.ModelFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstraintStateTest {
+
+    @Test
+    void undoToLeavesTheSameAvailabilityAsPlacingTheRemainingCoursesAfresh() throws Exception {
+        // Periods are drawn regardless of availability, so student counters go past the daily limit too.
+        ProblemModel model = model(randomCourses(7, 14, 40, 4), rooms(50, 50, 50, 50), 3, 4, 2, 1);
+        ConstraintState state = new ConstraintState(model);
+        Random random = new Random(11);
+        Deque<Integer> marks = new ArrayDeque<>();
+
+        for (int step = 0; step < 400; step++) {
+            List<Integer> unplaced = new ArrayList<>();
+            for (int c = 0; c < model.courseCount(); c++) {
+                if (!state.isPlaced(c)) {
+                    unplaced.add(c);
+                }
+            }
+            if (!unplaced.isEmpty() && (marks.isEmpty() || random.nextInt(3) > 0)) {
+                marks.push(state.mark());
+                int course = unplaced.get(random.nextInt(unplaced.size()));
+                state.placeReversibly(course, random.nextInt(model.periodCount()), ConstraintState.UNASSIGNED);
+            } else {
+                int pops = 1 + random.nextInt(marks.size());
+                int mark = 0;
+                for (int i = 0; i < pops; i++) {
+                    mark = marks.pop();
+                }
+                state.undoTo(mark);
+            }
+            assertSameAvailability(state, rebuilt(state));
+        }
+    }
+
+    @Test
+    void backtracksCountRewindsThatUndidSomething() throws Exception {
+        ProblemModel model = model(randomCourses(3, 6, 10, 2), rooms(50, 50), 2, 3, 2, 1);
+        ConstraintState state = new ConstraintState(model);
+        int start = state.mark();
+        state.placeReversibly(0, 0, ConstraintState.UNASSIGNED);
+        int middle = state.mark();
+        state.placeReversibly(1, 3, ConstraintState.UNASSIGNED);
+        state.placeReversibly(2, 4, ConstraintState.UNASSIGNED);
+
+        state.undoTo(middle);
+        state.undoTo(middle);
+        assertEquals(1, state.getBacktracks());
+        assertEquals(1, state.placedCount());
+
+        state.undoTo(start);
+        assertEquals(2, state.getBacktracks());
+        assertEquals(0, state.placedCount());
+        assertEquals(3, state.getPlacements());
+    }
+
+    @Test
+    void fixedSplitCoursesSurviveUndoAndRestore() throws Exception {
+        ProblemModel model = model(List.of(
+                course("BIG", "s1", "s2", "s3", "s4", "s5"), course("A", "s1", "a1"), course("B", "b1")),
+                rooms(3, 3), 2, 2, 2, 1);
+        int big = model.courseIndexOf("BIG");
+        assertTrue(model.isFixed(big));
+
+        ConstraintState state = new ConstraintState(model);
+        int period = state.periodOf(big);
+        state.placeReversibly(model.courseIndexOf("B"), period + 1, ConstraintState.UNASSIGNED);
+        state.undoTo(0);
+        state.unplace(big);
+        assertEquals(period, state.periodOf(big));
+        assertFalse(state.isStudentAvailable(model.courseIndexOf("A"), period));
+
+        int[] periods = new int[model.courseCount()];
+        int[] rooms = new int[model.courseCount()];
+        Arrays.fill(periods, ConstraintState.UNASSIGNED);
+        Arrays.fill(rooms, ConstraintState.UNASSIGNED);
+        state.restore(periods, rooms);
+        assertEquals(period, state.periodOf(big));
+        assertEquals(1, state.placedCount());
+        for (int room : model.fixedRooms(big)) {
+            assertFalse(state.isRoomFree(period, room));
+        }
+    }
+
+    private static ConstraintState rebuilt(ConstraintState state) {
+        ConstraintState fresh = new ConstraintState(state.getModel());
+        for (int c = 0; c < state.getModel().courseCount(); c++) {
+            if (state.isPlaced(c) && !state.getModel().isFixed(c)) {
+                fresh.place(c, state.periodOf(c), state.roomOf(c));
+            }
+        }
+        return fresh;
+    }
+
+    private static void assertSameAvailability(ConstraintState actual, ConstraintState expected) {
+        ProblemModel model = actual.getModel();
+        assertEquals(expected.placedCount(), actual.placedCount());
+        for (int c = 0; c < model.courseCount(); c++) {
+            for (int p = 0; p < model.periodCount(); p++) {
+                assertEquals(expected.isStudentAvailable(c, p), actual.isStudentAvailable(c, p),
+                        "course " + c + " in period " + p);
+            }
+        }
+    }
+}
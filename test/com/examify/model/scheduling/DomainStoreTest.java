@@ -0,0 +1,65 @@
+package com.examify.model.scheduling;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainStoreTest {
+
+    @Test
+    void undoToRestoresEveryRemovalMadeSinceTheMark() {
+        // Past one word of periods, so nextPeriod has to cross words.
+        int courses = 5;
+        int periods = 70;
+        DomainStore domains = new DomainStore(courses, periods);
+        boolean[][] expected = new boolean[courses][periods];
+        for (boolean[] row : expected) {
+            Arrays.fill(row, true);
+        }
+        Random random = new Random(5);
+        Deque<Integer> marks = new ArrayDeque<>();
+        Deque<boolean[][]> saved = new ArrayDeque<>();
+
+        for (int step = 0; step < 300; step++) {
+            if (marks.isEmpty() || random.nextInt(3) > 0) {
+                marks.push(domains.mark());
+                saved.push(copy(expected));
+                for (int k = random.nextInt(20); k > 0; k--) {
+                    int c = random.nextInt(courses);
+                    int p = random.nextInt(periods);
+                    assertEquals(expected[c][p], domains.remove(c, p));
+                    expected[c][p] = false;
+                }
+            } else {
+                domains.undoTo(marks.pop());
+                expected = saved.pop();
+            }
+            assertSameDomains(expected, domains);
+        }
+    }
+
+    private static boolean[][] copy(boolean[][] domains) {
+        boolean[][] copy = new boolean[domains.length][];
+        for (int c = 0; c < domains.length; c++) {
+            copy[c] = domains[c].clone();
+        }
+        return copy;
+    }
+
+    private static void assertSameDomains(boolean[][] expected, DomainStore domains) {
+        for (int c = 0; c < expected.length; c++) {
+            int size = 0;
+            int next = -1;
+            for (int p = expected[c].length - 1; p >= 0; p--) {
+                assertEquals(expected[c][p], domains.contains(c, p));
+                if (expected[c][p]) {
+                    size++;
+                    next = p;
+                }
+                assertEquals(next, domains.nextPeriod(c, p));
+            }
+            assertEquals(size, domains.size(c));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import com.examify.model.entities.Course;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static com.examify.model.scheduling.ModelFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForwardCheckingStrategyTest {
+
+    @Test
+    void firstAttemptAndRetriesKeepEveryHardConstraint() throws Exception {
+        ProblemModel model = model(randomCourses(70, 14, 30, 3), rooms(100, 100, 100), 3, 3, 2, 1);
+        for (int attempt = 0; attempt < 4; attempt++) {
+            assertValid(new ForwardCheckingStrategy().solve(model, context(attempt, attempt)));
+        }
+    }
+
+    @Test
+    void retriesBreakTiesByTheContextsRandom() throws Exception {
+        // Courses sharing no students are all tied, so only the tie-break orders them.
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            courses.add(course("C" + c, "s" + c));
+        }
+        ProblemModel model = model(courses, rooms(10, 10), 4, 1, 2, 1);
+
+        int[] first = periods(new ForwardCheckingStrategy().solve(model, context(0, 1)));
+        assertArrayEquals(first, periods(new ForwardCheckingStrategy().solve(model, context(0, 2))));
+        assertArrayEquals(periods(new ForwardCheckingStrategy().solve(model, context(1, 7))),
+                periods(new ForwardCheckingStrategy().solve(model, context(1, 7))));
+        boolean reordered = false;
+        for (long seed = 1; seed <= 5 && !reordered; seed++) {
+            reordered = !Arrays.equals(first, periods(new ForwardCheckingStrategy().solve(model, context(1, seed))));
+        }
+        assertTrue(reordered);
+    }
+
+    @Test
+    void aCourseNoPeriodCanTakeFailsTheAttempt() throws Exception {
+        ProblemModel model = model(List.of(course("A", "s1", "s2"), course("B", "s2", "s3"),
+                course("C", "s1", "s3")), rooms(10, 10), 1, 2, 3, 0);
+
+        SchedulingException e = assertThrows(SchedulingException.class,
+                () -> new ForwardCheckingStrategy().solve(model, context(0, 1)));
+        assertTrue(e.getMessage().startsWith("Cannot place course"), e.getMessage());
+    }
+
+    private static int[] periods(ConstraintState state) {
+        int[] periods = new int[state.getModel().courseCount()];
+        for (int c = 0; c < periods.length; c++) {
+            periods[c] = state.periodOf(c);
+        }
+        return periods;
+    }
+}
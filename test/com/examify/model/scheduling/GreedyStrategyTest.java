@@ -0,0 +1,96 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.ExamScheduler.SchedulingException;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static com.examify.model.scheduling.ModelFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GreedyStrategyTest {
+
+    @Test
+    void backjumpingFindsAScheduleWhereFirstFitInCourseOrderDeadEnds() throws Exception {
+        // A path A-D-C-B over two periods: first fit puts A and B together, leaving D no period.
+        ProblemModel model = model(List.of(course("A", "ad"), course("B", "bc"), course("C", "bc", "cd"),
+                course("D", "ad", "cd")), rooms(10, 10), 1, 2, 2, 0);
+        ConstraintState state = new GreedyStrategy().solve(model, context(0, 1));
+
+        assertValid(state);
+        assertTrue(state.getBacktracks() > 0);
+        assertNotEquals(state.periodOf(0), state.periodOf(1));
+    }
+
+    @Test
+    void dynamicOrderStaysValidAcrossBackjumpsAndRetries() throws Exception {
+        ProblemModel model = model(randomCourses(70, 14, 30, 3), rooms(100, 100, 100), 3, 3, 2, 1);
+        for (int attempt = 0; attempt < 3; attempt++) {
+            ConstraintState state = new GreedyStrategy(true).solve(model, context(attempt, attempt));
+            assertValid(state);
+            assertTrue(state.getBacktracks() > 0, "instance no longer needs a backjump");
+        }
+    }
+
+    @Test
+    void aCourseNoPeriodCanTakeFailsTheAttempt() throws Exception {
+        // Three courses sharing students, two periods.
+        ProblemModel model = model(List.of(course("A", "s1", "s2"), course("B", "s2", "s3"),
+                course("C", "s1", "s3")), rooms(10, 10), 1, 2, 3, 0);
+
+        SchedulingException e = assertThrows(SchedulingException.class,
+                () -> new GreedyStrategy().solve(model, context(0, 1)));
+        assertTrue(e.getMessage().startsWith("Cannot place course"), e.getMessage());
+    }
+
+    @Test
+    void saturationWeightsMatchARecountWhenPlacementsAreUndoneLatestFirst() throws Exception {
+        ProblemModel model = model(randomCourses(21, 16, 60, 3), rooms(80, 80, 80), 3, 3, 2, 1);
+        ConstraintState state = new ConstraintState(model);
+        List<Integer> courses = new ArrayList<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            courses.add(c);
+        }
+        GreedyStrategy.SaturationOrder order = new GreedyStrategy.SaturationOrder(state, courses);
+        List<int[]> placed = new ArrayList<>();
+
+        while (placed.size() < model.courseCount()) {
+            int course = order.next();
+            int period = 0;
+            while (period < model.periodCount() && !state.isStudentAvailable(course, period)) {
+                period++;
+            }
+            if (period == model.periodCount()) {
+                break;
+            }
+            int mark = state.mark();
+            state.placeReversibly(course, period, ConstraintState.UNASSIGNED);
+            order.changed(course, period, true);
+            placed.add(new int[] {course, period, mark});
+            assertMatchesRecount(order, state);
+        }
+        assertTrue(placed.size() > 3, "too few placements to exercise the undo");
+
+        // The order the solver's backjump uses: each level undone, then reported, latest first.
+        for (int j = placed.size() - 1; j >= 0; j--) {
+            int[] level = placed.get(j);
+            state.undoTo(level[2]);
+            order.changed(level[0], level[1], false);
+            assertMatchesRecount(order, state);
+        }
+    }
+
+    private static void assertMatchesRecount(GreedyStrategy.SaturationOrder order, ConstraintState state) {
+        ProblemModel model = state.getModel();
+        List<Integer> unplaced = new ArrayList<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (!state.isPlaced(c)) {
+                unplaced.add(c);
+            }
+        }
+        GreedyStrategy.SaturationOrder recount = new GreedyStrategy.SaturationOrder(state, unplaced);
+        for (int c : unplaced) {
+            assertEquals(recount.free(c), order.free(c), "free periods of course " + c);
+            assertEquals(recount.openWeight(c), order.openWeight(c), "open weight of course " + c);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import java.time.LocalDate;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KempeChainRepairerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void coursesBeyondTheRoomsOfTheirPeriodAreUnplaced() throws Exception {
+        ProblemModel model = ProblemModel.of(
+                List.of(course("A", "k1"), course("B", "k2"), course("C", "k3"), course("D", "k4")),
+                rooms(2), START, START.plusDays(1), 1, 1, 2, 1);
+        int[] periods = new int[model.courseCount()];
+
+        new KempeChainRepairer().repair(model, periods, 100);
+
+        long placed = Arrays.stream(periods).filter(p -> p != ConstraintState.UNASSIGNED).count();
+        assertEquals(2, placed);
+    }
+
+    @Test
+    void swapsClearTheConflictsOfAScrambledAssignmentWithoutOverfillingRooms() throws Exception {
+        ProblemModel model = ModelFixtures.model(ModelFixtures.randomCourses(5, 20, 40, 3),
+                ModelFixtures.rooms(100, 100, 100), 5, 3, 2, 1);
+        int[] periods = new int[model.courseCount()];
+        for (int c = 0; c < periods.length; c++) {
+            periods[c] = c % model.periodCount();
+        }
+
+        KempeChainRepairer repairer = new KempeChainRepairer();
+        int remaining = repairer.repair(model, periods, 1000);
+
+        assertTrue(repairer.getInitialConflicts() > 0);
+        assertEquals(0, remaining);
+        assertEquals(remaining, repairer.getFinalConflicts());
+        ConstraintState state = new ConstraintState(model);
+        for (int c = 0; c < periods.length; c++) {
+            state.place(c, periods[c], ConstraintState.UNASSIGNED);
+        }
+        PeriodRoomPlan.of(state).assignRooms(state);
+        ModelFixtures.assertValid(state);
+    }
+
+    private static Course course(String code, String... students) {
+        Course course = new Course(code);
+        course.setEnrolledStudents(new HashSet<>(Arrays.asList(students)));
+        return course;
+    }
+
+    private static List<Classroom> rooms(int count) {
+        List<Classroom> rooms = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            rooms.add(new Classroom("R" + r, 30));
+        }
+        return rooms;
+    }
+}
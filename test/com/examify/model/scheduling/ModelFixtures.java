@@ -0,0 +1,103 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Classroom;
+import com.examify.model.entities.Course;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Small models for the solver tests and a checker for the hard constraints of a state. */
+final class ModelFixtures {
+
+    static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    private ModelFixtures() {}
+
+    static Course course(String code, String... students) {
+        Course course = new Course(code);
+        course.setEnrolledStudents(new HashSet<>(Arrays.asList(students)));
+        return course;
+    }
+
+    /** Rooms sorted by capacity, as the model expects them. */
+    static List<Classroom> rooms(int... capacities) {
+        int[] sorted = capacities.clone();
+        Arrays.sort(sorted);
+        List<Classroom> rooms = new ArrayList<>();
+        for (int r = 0; r < sorted.length; r++) {
+            rooms.add(new Classroom("R" + r, sorted[r]));
+        }
+        return rooms;
+    }
+
+    /** Every student takes {@code coursesPerStudent} distinct courses drawn uniformly. */
+    static List<Course> randomCourses(long seed, int courses, int students, int coursesPerStudent) {
+        Random random = new Random(seed);
+        List<Course> list = new ArrayList<>();
+        for (int c = 0; c < courses; c++) {
+            list.add(new Course("C" + c));
+        }
+        for (int s = 0; s < students; s++) {
+            Set<Integer> picked = new HashSet<>();
+            while (picked.size() < coursesPerStudent) {
+                picked.add(random.nextInt(courses));
+            }
+            for (int c : picked) {
+                list.get(c).addEnrolledStudent("S" + s);
+            }
+        }
+        list.removeIf(course -> course.getEnrolledStudents().isEmpty());
+        return list;
+    }
+
+    static ProblemModel model(List<Course> courses, List<Classroom> rooms, int days, int slots,
+                              int maxExamsPerDay, int minGap) throws Exception {
+        return ProblemModel.of(courses, rooms, START, START.plusDays(days - 1), 1, slots, maxExamsPerDay, minGap);
+    }
+
+    static SolverContext context(int attempt, long seed) {
+        return new SolverContext(attempt, new Random(seed), null);
+    }
+
+    /**
+     * Every course placed with rooms that seat it and are not shared within a period, and no
+     * student over the daily limit or with two exams closer than the gap.
+     */
+    static void assertValid(ConstraintState state) {
+        ProblemModel model = state.getModel();
+        assertTrue(state.isComplete(), "placed " + state.placedCount() + " of " + model.courseCount());
+
+        Set<Long> roomsInUse = new HashSet<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            int period = state.periodOf(c);
+            assertTrue(period >= 0 && period < model.periodCount());
+            int[] rooms = model.isFixed(c) ? model.fixedRooms(c) : new int[] {state.roomOf(c)};
+            int seats = 0;
+            for (int room : rooms) {
+                assertNotEquals(ConstraintState.UNASSIGNED, room, "no room for " + model.course(c).getCourseCode());
+                assertTrue(roomsInUse.add((long) period * model.roomCount() + room), "room shared in period " + period);
+                seats += model.roomCapacity(room);
+            }
+            assertTrue(seats >= model.courseSize(c), "rooms too small for " + model.course(c).getCourseCode());
+        }
+
+        for (int s = 0; s < model.studentCount(); s++) {
+            Map<Integer, List<Integer>> offsetsByDay = new HashMap<>();
+            for (int i = model.studentCourseStart(s); i < model.studentCourseEnd(s); i++) {
+                int period = state.periodOf(model.studentCourseAt(i));
+                offsetsByDay.computeIfAbsent(model.dayOf(period), d -> new ArrayList<>())
+                        .add(model.slotOffsetOf(period));
+            }
+            for (List<Integer> offsets : offsetsByDay.values()) {
+                assertTrue(offsets.size() <= model.maxExamsPerDay(), "too many exams on a day for " + model.studentId(s));
+                for (int a = 0; a < offsets.size(); a++) {
+                    for (int b = a + 1; b < offsets.size(); b++) {
+                        assertTrue(Math.abs(offsets.get(a) - offsets.get(b)) > model.minGapBetweenExams(),
+                                "exams too close for " + model.studentId(s));
+                    }
+                }
+            }
+        }
+    }
+}
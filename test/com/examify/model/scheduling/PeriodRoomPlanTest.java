@@ -0,0 +1,156 @@
+package com.examify.model.scheduling;
+
+import com.examify.model.entities.Course;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static com.examify.model.scheduling.ModelFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeriodRoomPlanTest {
+
+    private static final int[] CAPACITIES = {10, 10, 20, 30, 30, 30, 50};
+
+    @Test
+    void canAddAgreesWithAnExhaustiveRoomMatching() throws Exception {
+        ProblemModel model = model(disjointCourses(new Random(9), 24, 50), rooms(CAPACITIES), 1, 1, 2, 1);
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+        Random random = new Random(13);
+        List<Integer> inPeriod = new ArrayList<>();
+
+        for (int step = 0; step < 500; step++) {
+            int course = random.nextInt(model.courseCount());
+            if (inPeriod.contains(course)) {
+                plan.remove(0, course);
+                inPeriod.remove(Integer.valueOf(course));
+            } else {
+                List<Integer> sizes = sizes(model, inPeriod);
+                sizes.add(model.courseSize(course));
+                boolean fits = matches(sizes, CAPACITIES);
+                assertEquals(fits, plan.canAdd(0, model.courseSize(course)), "adding " + sizes);
+                if (fits) {
+                    plan.add(0, course);
+                    inPeriod.add(course);
+                }
+            }
+            assertEquals(inPeriod.size(), plan.examCount(0));
+        }
+    }
+
+    @Test
+    void roomsReservedForASplitCourseAreLeftOutOfItsPeriod() throws Exception {
+        // 70 students take the 50 and the 20, leaving the 10s and the 30s to the others.
+        List<Course> courses = new ArrayList<>(disjointCourses(new Random(4), 6, 30));
+        courses.add(course("BIG", students("big", 70)));
+        ProblemModel model = model(courses, rooms(CAPACITIES), 1, 1, 2, 1);
+        int big = model.courseIndexOf("BIG");
+        assertTrue(model.isFixed(big));
+        Set<Integer> reserved = new HashSet<>();
+        for (int room : model.fixedRooms(big)) {
+            reserved.add(room);
+        }
+        int[] free = new int[CAPACITIES.length - reserved.size()];
+        for (int r = 0, k = 0; r < CAPACITIES.length; r++) {
+            if (!reserved.contains(r)) {
+                free[k++] = model.roomCapacity(r);
+            }
+        }
+
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+        List<Integer> sizes = new ArrayList<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (c == big) {
+                continue;
+            }
+            sizes.add(model.courseSize(c));
+            boolean fits = matches(sizes, free);
+            assertEquals(fits, plan.canAdd(0, model.courseSize(c)));
+            if (fits) {
+                plan.add(0, c);
+            } else {
+                sizes.remove(sizes.size() - 1);
+            }
+        }
+    }
+
+    @Test
+    void assignRoomsGivesEveryExamItsOwnRoomLargeEnough() throws Exception {
+        ProblemModel model = model(disjointCourses(new Random(2), 30, 50), rooms(CAPACITIES), 2, 3, 2, 1);
+        ConstraintState state = new ConstraintState(model);
+        PeriodRoomPlan plan = new PeriodRoomPlan(model);
+        for (int c = 0; c < model.courseCount(); c++) {
+            for (int p = 0; p < model.periodCount(); p++) {
+                if (plan.canAdd(p, model.courseSize(c))) {
+                    state.place(c, p, ConstraintState.UNASSIGNED);
+                    plan.add(p, c);
+                    break;
+                }
+            }
+        }
+        plan.assignRooms(state);
+
+        Set<Long> used = new HashSet<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (!state.isPlaced(c)) {
+                continue;
+            }
+            int room = state.roomOf(c);
+            assertNotEquals(ConstraintState.UNASSIGNED, room);
+            assertTrue(model.roomCapacity(room) >= model.courseSize(c));
+            assertTrue(used.add((long) state.periodOf(c) * model.roomCount() + room));
+        }
+        PeriodRoomPlan rebuilt = PeriodRoomPlan.of(state);
+        for (int p = 0; p < model.periodCount(); p++) {
+            assertEquals(plan.examCount(p), rebuilt.examCount(p));
+        }
+    }
+
+    // Courses of 1..maxSize students that share none.
+    private static List<Course> disjointCourses(Random random, int count, int maxSize) {
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            courses.add(course("C" + c, students("c" + c + "-", 1 + random.nextInt(maxSize))));
+        }
+        return courses;
+    }
+
+    private static String[] students(String prefix, int count) {
+        String[] students = new String[count];
+        for (int s = 0; s < count; s++) {
+            students[s] = prefix + s;
+        }
+        return students;
+    }
+
+    private static List<Integer> sizes(ProblemModel model, List<Integer> courses) {
+        List<Integer> sizes = new ArrayList<>();
+        for (int c : courses) {
+            sizes.add(model.courseSize(c));
+        }
+        return sizes;
+    }
+
+    // Backtracking search for distinct rooms, largest exam first.
+    private static boolean matches(List<Integer> sizes, int[] capacities) {
+        List<Integer> order = new ArrayList<>(sizes);
+        order.sort(Comparator.reverseOrder());
+        return matches(order, 0, capacities, new boolean[capacities.length]);
+    }
+
+    private static boolean matches(List<Integer> sizes, int next, int[] capacities, boolean[] used) {
+        if (next == sizes.size()) {
+            return true;
+        }
+        for (int r = 0; r < capacities.length; r++) {
+            if (!used[r] && capacities[r] >= sizes.get(next)) {
+                used[r] = true;
+                boolean found = matches(sizes, next + 1, capacities, used);
+                used[r] = false;
+                if (found) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
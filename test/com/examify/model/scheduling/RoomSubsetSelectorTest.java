@@ -0,0 +1,97 @@
+package com.examify.model.scheduling;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomSubsetSelectorTest {
+
+    @Test
+    void picksTheFewestEmptySeatsThenTheFewestRooms() {
+        int[] capacities = {10, 15, 20, 25, 40};
+        boolean[] reserved = new boolean[capacities.length];
+
+        // 15 + 40 and 10 + 20 + 25 both seat 55 exactly; two rooms beat three.
+        assertArrayEquals(new int[] {1, 4}, sorted(RoomSubsetSelector.select(capacities, reserved, 55)));
+        // Nothing seats 56 to 59; 20 + 40 wastes four seats, as does 15 + 20 + 25.
+        assertArrayEquals(new int[] {2, 4}, sorted(RoomSubsetSelector.select(capacities, reserved, 56)));
+    }
+
+    @Test
+    void reservedRoomsAreNeverChosenAndTooFewSeatsGiveNull() {
+        int[] capacities = {10, 20, 30, 40};
+        boolean[] reserved = {false, false, true, false};
+
+        int[] chosen = RoomSubsetSelector.select(capacities, reserved, 60);
+        assertArrayEquals(new int[] {1, 3}, sorted(chosen));
+        assertNull(RoomSubsetSelector.select(capacities, reserved, 71));
+        assertNull(RoomSubsetSelector.select(capacities, new boolean[] {true, true, true, true}, 1));
+    }
+
+    @Test
+    void matchesAnExhaustiveSearchOverSubsets() {
+        Random random = new Random(3);
+        for (int round = 0; round < 300; round++) {
+            int rooms = 1 + random.nextInt(9);
+            int[] capacities = new int[rooms];
+            boolean[] reserved = new boolean[rooms];
+            int total = 0;
+            for (int r = 0; r < rooms; r++) {
+                capacities[r] = 5 + random.nextInt(60);
+                reserved[r] = random.nextInt(4) == 0;
+                total += reserved[r] ? 0 : capacities[r];
+            }
+            int size = 1 + random.nextInt(Math.max(1, total + 10));
+
+            int[] expected = exhaustive(capacities, reserved, size);
+            int[] chosen = RoomSubsetSelector.select(capacities, reserved, size);
+            if (expected == null) {
+                assertNull(chosen);
+                continue;
+            }
+            assertNotNull(chosen);
+            Set<Integer> distinct = new HashSet<>();
+            for (int r : chosen) {
+                assertFalse(reserved[r]);
+                assertTrue(distinct.add(r));
+            }
+            assertEquals(expected[0], seats(capacities, chosen), "seats for " + size);
+            assertEquals(expected[1], chosen.length, "rooms for " + size);
+        }
+    }
+
+    // {seats, rooms} of the best subset, or null if the free rooms cannot seat size.
+    private static int[] exhaustive(int[] capacities, boolean[] reserved, int size) {
+        int[] best = null;
+        for (int mask = 1; mask < 1 << capacities.length; mask++) {
+            int seats = 0;
+            boolean free = true;
+            for (int r = 0; r < capacities.length; r++) {
+                if ((mask & 1 << r) != 0) {
+                    free &= !reserved[r];
+                    seats += capacities[r];
+                }
+            }
+            int count = Integer.bitCount(mask);
+            if (free && seats >= size && (best == null || seats < best[0] || seats == best[0] && count < best[1])) {
+                best = new int[] {seats, count};
+            }
+        }
+        return best;
+    }
+
+    private static int seats(int[] capacities, int[] chosen) {
+        int seats = 0;
+        for (int r : chosen) {
+            seats += capacities[r];
+        }
+        return seats;
+    }
+
+    private static int[] sorted(int[] rooms) {
+        int[] copy = rooms.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}